@@ -0,0 +1,105 @@
+import java.io.*;
+
+// Console output for interactive play. Game code appends to an in-memory
+// buffer; a background thread writes whatever has accumulated in one batch,
+// so a slow terminal never stalls the turn loop. flush() waits for the writer
+// to catch up and is called before every read from the keyboard (see
+// InputService.onBeforeRead).
+public class AsyncConsoleSink implements OutputSink {
+    private final PrintStream target;
+    private final Level verbosity;
+    private final Object lock = new Object();
+
+    private StringBuilder pending = new StringBuilder(4096);
+    private StringBuilder writing = new StringBuilder(4096);
+    private long appended = 0;  // chars accepted
+    private long written = 0;   // chars handed to the terminal
+    private boolean closed = false;
+
+    public AsyncConsoleSink(PrintStream target, Level verbosity) {
+        this.target = target;
+        this.verbosity = verbosity;
+
+        Thread writer = new Thread(this::drainLoop, "console-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "console-flush"));
+    }
+
+    public void print(String text) {
+        append(text);
+    }
+
+    public void println(String text) {
+        append(text + System.lineSeparator());
+    }
+
+    public boolean isEnabled(Level level) {
+        return level.compareTo(verbosity) <= 0;
+    }
+
+    public void flush() {
+        synchronized (lock) {
+            long upTo = appended;
+            while (written < upTo && !closed) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Writes out anything left and stops the background writer
+    public void close() {
+        flush();
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+    }
+
+    private void append(String text) {
+        synchronized (lock) {
+            if (closed) {
+                // Writer is gone (shutdown); fall back to writing directly
+                target.print(text);
+                target.flush();
+                return;
+            }
+            pending.append(text);
+            appended += text.length();
+            lock.notifyAll();
+        }
+    }
+
+    private void drainLoop() {
+        while (true) {
+            StringBuilder batch;
+            synchronized (lock) {
+                while (pending.length() == 0 && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.length() == 0) return;
+                batch = pending;
+                pending = writing;
+                writing = batch;
+            }
+
+            target.print(batch);
+            target.flush();
+
+            synchronized (lock) {
+                written += batch.length();
+                batch.setLength(0);
+                lock.notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+import java.util.*;
+import java.util.random.RandomGenerator;
+
+// Scripted player for headless battles: uses a random ready skill when it has
+// one, otherwise attacks. Level-up and specialization picks can be pinned.
+public class AutoPilot implements DecisionSource {
+    private final Player player;
+    private RandomGenerator random;
+    private int specialization = 0; // 0 = pick at random
+    private int levelUpBuff = 0;    // 0 = pick at random
+    private final int[] ready = new int[16];
+
+    public AutoPilot(Player player, RandomGenerator random) {
+        this.player = player;
+        this.random = random;
+    }
+
+    // For reuse: new stream, no pinned picks
+    public AutoPilot reset(RandomGenerator random) {
+        this.random = random;
+        this.specialization = 0;
+        this.levelUpBuff = 0;
+        return this;
+    }
+
+    public AutoPilot preferSpecialization(int choice) {
+        this.specialization = choice;
+        return this;
+    }
+
+    public AutoPilot preferLevelUpBuff(int choice) {
+        this.levelUpBuff = choice;
+        return this;
+    }
+
+    public int choose(Choice choice, int options) {
+        switch (choice) {
+            case ACTION:
+                return countReadySkills() > 0 ? 2 : 1;
+            case SKILL:
+                int count = countReadySkills();
+                return count == 0 ? 1 : ready[random.nextInt(count)] + 1;
+            case SPECIALIZATION:
+                return specialization > 0 ? specialization : random.nextInt(options) + 1;
+            case LEVEL_UP_BUFF:
+                return levelUpBuff > 0 ? levelUpBuff : random.nextInt(options) + 1;
+            default:
+                return random.nextInt(options) + 1;
+        }
+    }
+
+    private int countReadySkills() {
+        SkillBook skills = player.getSkills();
+        int count = 0;
+        for (int i = 0; i < skills.size() && count < ready.length; i++) {
+            if (skills.isReady(i)) ready[count++] = i;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,141 @@
+import java.util.*;
+
+// Monte Carlo balance runs: every class x specialization x enemy template,
+// N headless battles each, spread over all cores.
+//
+// Usage: java BalanceSimulator [battlesPerMatchup] [seed]
+//
+// Each battle draws from its own stream derived from the seed, so results do
+// not depend on how the work was split across threads.
+public class BalanceSimulator {
+    private static final double Z95 = 1.96;
+
+    // One class/specialization/enemy combination and its running totals
+    static class Matchup {
+        final String classType;
+        final String specialization;
+        final int specChoice;
+        final int enemyId;
+        final Enemy template;
+        final RunSeed seed;
+
+        int battles;
+        int wins;
+        long turns;
+        long turnsSq;
+        long hpLeft;
+        long hpLeftSq;
+
+        Matchup(String classType, String specialization, int specChoice, int enemyId, RunSeed seed) {
+            this.classType = classType;
+            this.specialization = specialization;
+            this.specChoice = specChoice;
+            this.enemyId = enemyId;
+            this.template = EnemyRegistry.get().getTemplate(enemyId);
+            this.seed = seed;
+        }
+    }
+
+    public static void main(String[] args) {
+        int battles = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        RunSeed seed = args.length > 1 ? new RunSeed(Long.parseLong(args[1])) : RunSeed.random();
+
+        List<Matchup> matchups = buildMatchups(seed);
+        long start = System.nanoTime();
+        matchups.parallelStream().forEach(m -> run(m, battles));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        report(matchups);
+        System.out.printf("%n%d matchups x %d battles in %.2fs on %d threads (seed %d)%n",
+                          matchups.size(), battles, seconds,
+                          Runtime.getRuntime().availableProcessors(), seed.getSeed());
+    }
+
+    static List<Matchup> buildMatchups(RunSeed seed) {
+        EnemyRegistry registry = EnemyRegistry.get();
+        List<Matchup> matchups = new ArrayList<>();
+        for (String classType : SkillManager.CLASS_TYPES) {
+            String[] specs = SpecializationManager.getSpecializationsForClass(classType);
+            for (int s = 0; s < specs.length; s++) {
+                for (int id = 0; id < registry.size(); id++) {
+                    matchups.add(new Matchup(classType, specs[s], s + 1, id,
+                                             seed.child(matchups.size())));
+                }
+            }
+        }
+        return matchups;
+    }
+
+    // Combatants and the battle come from the worker thread's BattleContext and
+    // are reset rather than reallocated for every battle
+    static void run(Matchup m, int battles) {
+        BattleContext context = BattleContext.forThread();
+        for (int i = 0; i < battles; i++) {
+            RunSeed battleSeed = m.seed.child(i);
+            Player player = context.player(m.classType);
+            player.setRandom(battleSeed.stream(RunSeed.PLAYER));
+            AutoPilot pilot = context.pilot(battleSeed.stream(RunSeed.DECISIONS))
+                .preferSpecialization(m.specChoice);
+
+            // Meet the enemy at its own tier, but always late enough to have specialized
+            int targetLevel = Math.max(2, m.template.getLevel());
+            player.gainXP(xpToReach(targetLevel), pilot);
+
+            Enemy enemy = context.enemy(m.enemyId, player.getLevel());
+            enemy.setRandom(battleSeed.stream(RunSeed.ENEMY));
+
+            EmotionBattle battle = context.battle(null, null, pilot);
+            boolean won = battle.start();
+
+            int turns = battle.getTurns();
+            int hp = player.getCurrentHealth();
+            m.battles++;
+            if (won) m.wins++;
+            m.turns += turns;
+            m.turnsSq += (long) turns * turns;
+            m.hpLeft += hp;
+            m.hpLeftSq += (long) hp * hp;
+        }
+    }
+
+    private static int xpToReach(int level) {
+        int xp = 0;
+        for (int l = 1; l < level; l++) xp += l * 75;
+        return xp;
+    }
+
+    static void report(List<Matchup> matchups) {
+        System.out.printf("%-13s %-16s %-15s %20s %16s %15s%n",
+                          "Class", "Specialization", "Enemy", "Win % (95% CI)", "Turns", "HP left");
+        for (Matchup m : matchups) {
+            double[] win = wilson(m.wins, m.battles);
+            System.out.printf("%-13s %-16s %-15s %6.1f [%5.1f,%5.1f] %8.2f +-%5.2f %8.1f +-%5.1f%n",
+                              m.classType, m.specialization, m.template.getName(),
+                              100.0 * m.wins / m.battles, 100 * win[0], 100 * win[1],
+                              mean(m.turns, m.battles), halfWidth(m.turns, m.turnsSq, m.battles),
+                              mean(m.hpLeft, m.battles), halfWidth(m.hpLeft, m.hpLeftSq, m.battles));
+        }
+    }
+
+    private static double mean(long sum, int n) {
+        return (double) sum / n;
+    }
+
+    // 95% half-width of the normal interval around the mean
+    private static double halfWidth(long sum, long sumSq, int n) {
+        if (n < 2) return 0;
+        double mean = (double) sum / n;
+        double variance = Math.max(0, ((double) sumSq - n * mean * mean) / (n - 1));
+        return Z95 * Math.sqrt(variance / n);
+    }
+
+    // Wilson score interval; well behaved for win rates near 0% or 100%
+    private static double[] wilson(int wins, int n) {
+        double p = (double) wins / n;
+        double z2 = Z95 * Z95;
+        double denom = 1 + z2 / n;
+        double centre = (p + z2 / (2 * n)) / denom;
+        double spread = Z95 * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n)) / denom;
+        return new double[] { Math.max(0, centre - spread), Math.min(1, centre + spread) };
+    }
+}
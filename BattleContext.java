@@ -0,0 +1,74 @@
+import java.util.random.RandomGenerator;
+
+// One worker thread's reusable battle: a player, an enemy, their emotion
+// manager, the autopilot, the battle and its log. Each call resets the pooled
+// object instead of allocating a new one, so a thread running battle after
+// battle settles into a steady state that hardly allocates at all.
+//
+// Objects handed out stay owned by the context: they are only valid until the
+// same call is made again on this thread.
+public final class BattleContext {
+    private static final ThreadLocal<BattleContext> LOCAL = ThreadLocal.withInitial(BattleContext::new);
+
+    private final BattleLog log = new BattleLog(BattleLog.DEFAULT_CAPACITY);
+    private Player player;
+    private Enemy enemy;
+    private EmotionManager emotions;
+    private AutoPilot pilot;
+    private EmotionBattle battle;
+
+    private BattleContext() {
+    }
+
+    public static BattleContext forThread() {
+        return LOCAL.get();
+    }
+
+    // A level 1 player of this class, printing nothing
+    public Player player(String classType) {
+        if (player == null) {
+            player = new Player("Sim", classType);
+            player.setOutput(OutputSink.NONE);
+        } else {
+            player.reset(classType);
+        }
+        return player;
+    }
+
+    // Plays the current player
+    public AutoPilot pilot(RandomGenerator random) {
+        if (pilot == null) {
+            pilot = new AutoPilot(player, random);
+        } else {
+            pilot.reset(random);
+        }
+        return pilot;
+    }
+
+    // Enemy template id scaled to playerLevel, printing nothing
+    public Enemy enemy(int id, int playerLevel) {
+        if (enemy == null) {
+            enemy = EnemyRegistry.get().spawn(id, playerLevel);
+            enemy.setOutput(OutputSink.NONE);
+        } else {
+            EnemyRegistry.get().spawnInto(enemy, id, playerLevel);
+        }
+        return enemy;
+    }
+
+    // The current player against the current enemy, with no emotions unlocked
+    public EmotionBattle battle(Weather weather, BattleEvent battleEvent, DecisionSource decisions) {
+        if (emotions == null) {
+            emotions = new EmotionManager(player);
+        } else {
+            emotions.reset();
+        }
+        if (battle == null) {
+            battle = new EmotionBattle(player, enemy, emotions, weather, battleEvent, decisions);
+            battle.setLog(log);
+        } else {
+            battle.reset(player, enemy, emotions, weather, battleEvent, decisions);
+        }
+        return battle;
+    }
+}
@@ -0,0 +1,103 @@
+// What happened in a battle, as typed records instead of console text.
+//
+// Records are six ints (type, turn, source, target, value, extra) packed into
+// one preallocated array used as a ring: once it is full the oldest records
+// are overwritten. Recording never allocates, so the log can stay on during
+// bulk simulation.
+//
+// Fields by type:
+//   TURN_START         value = turn number
+//   DAMAGE             source hit target for value HP (source NONE for poison,
+//                      burn, freezing); extra = 1 if it was bounced by a reflector
+//   STATUS_APPLIED     target got Status ordinal value for extra turns
+//   EMOTION_CHARGED    value = emotion id (index in EmotionManager.getAllEmotions())
+//   EMOTION_ACTIVATED  value = emotion id
+//   SKILL_CAST         source cast skill index value at target
+//
+// Combatant ids are PLAYER and ENEMY in EmotionBattle. In a HordeBattle they
+// are slots: 0 for the player, then allies, then enemies.
+public final class BattleLog {
+    // Event types
+    public static final int TURN_START = 0;
+    public static final int DAMAGE = 1;
+    public static final int STATUS_APPLIED = 2;
+    public static final int EMOTION_CHARGED = 3;
+    public static final int EMOTION_ACTIVATED = 4;
+    public static final int SKILL_CAST = 5;
+
+    private static final String[] TYPE_NAMES = {
+        "TURN_START", "DAMAGE", "STATUS_APPLIED", "EMOTION_CHARGED", "EMOTION_ACTIVATED", "SKILL_CAST"
+    };
+
+    // Combatant ids
+    public static final int NONE = -1;
+    public static final int PLAYER = 0;
+    public static final int ENEMY = 1;
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int FIELDS = 6;
+
+    // Receives records oldest first
+    public interface Visitor {
+        void event(int type, int turn, int source, int target, int value, int extra);
+    }
+
+    private final int[] records;
+    private final int capacity;
+    private long written = 0;
+    private int turn = 0;
+
+    public BattleLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.records = new int[capacity * FIELDS];
+    }
+
+    public void clear() {
+        written = 0;
+        turn = 0;
+    }
+
+    // Stamps every following record with this turn
+    public void startTurn(int turn) {
+        this.turn = turn;
+        record(TURN_START, NONE, NONE, turn, 0);
+    }
+
+    public void record(int type, int source, int target, int value, int extra) {
+        int at = (int) (written % capacity) * FIELDS;
+        records[at] = type;
+        records[at + 1] = turn;
+        records[at + 2] = source;
+        records[at + 3] = target;
+        records[at + 4] = value;
+        records[at + 5] = extra;
+        written++;
+    }
+
+    // Records still held
+    public int size() {
+        return (int) Math.min(written, capacity);
+    }
+
+    // Records overwritten because the ring was full
+    public long dropped() {
+        return written - size();
+    }
+
+    public void forEach(Visitor visitor) {
+        long first = written - size();
+        for (long i = first; i < written; i++) {
+            int at = (int) (i % capacity) * FIELDS;
+            visitor.event(records[at], records[at + 1], records[at + 2],
+                          records[at + 3], records[at + 4], records[at + 5]);
+        }
+    }
+
+    public static String typeName(int type) {
+        return TYPE_NAMES[type];
+    }
+}
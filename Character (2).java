@@ -7,41 +7,55 @@ public class Character {
 	protected int maxHealth;
 	protected int attack;
 	protected int defense;
-	private Random ran = new Random();
+	protected SplittableRandom ran = new SplittableRandom();
 	protected boolean neverMiss = false;
-	protected int neverMissTurns = 0;
 	protected boolean hopeMode = false;
-	protected int hopeModeTurns = 0;
+	protected OutputSink out = OutputSink.CONSOLE;
+	protected BattleLog log = null;
+	protected int combatantId = BattleLog.NONE;
+	// Told of every change to health during a horde battle; null otherwise
+	private HealthWatcher healthWatcher = null;
+	protected final SkillBook skills = new SkillBook();
 
 	// ====== Buffs & Debuffs ======
-	protected int attBuff = 0;
-	protected int defBuff = 0;
-	protected int attDeBuff = 0;
-	protected int defDeBuff = 0;
-	protected int attBuffTurns = 0;
-	protected int defBuffTurns = 0;
-	protected int deAttBuffTurns = 0;
-	protected int deDefBuffTurns = 0;
+	// Indexed by StatModifier; only changed through setModifier/addModifier
+	private final int[] modifiers = new int[StatModifier.COUNT];
+	// Expiry of buffs, debuffs, crit boost, never-miss, hope mode and regen
+	private final EffectWheel effects = new EffectWheel();
+	private final EffectWheel.Expiry onExpiry = this::expire;
 	protected boolean extraTurn = false;
+	protected int chargeTurn = 0;
 	// ====== Status Effects ======
-	private List<String> statusEffects = new ArrayList<>();
-	private List<Integer> statusDurations = new ArrayList<>();
+	// One bit per Status; order[] keeps application order for applyStatus and display
+	private int statusMask = 0;
+	private final int[] statusTurns = new int[Status.COUNT];
+	private final byte[] statusOrder = new byte[Status.COUNT];
+	private int statusCount = 0;
 	protected boolean stunned = false;
 	protected boolean frozen = false;
 	protected boolean reflector = false;
 	protected boolean isInvisible = false;
-	protected int burnAttackPenalty = 0;
 
 	// ====== Regen & Healing ======
 	protected int regenAmount = 0;
-	protected int regenDuration = 0;
 
 	// ====== Critical Chance ======
+	// Base chance; boosts are added on top and never folded into it
 	protected double critChance = 0.1;
-	protected double tempCritBoost = 0.0;
-	protected int critBoostTurns = 0;
+	private double tempCritBoost = 0.0;
 	protected double critMultiplier = 1.5;
 
+	// ====== Effective Stats ======
+	// Base stats plus modifiers, cached. Recomputed only after a modifier
+	// changes, or when attack/defense were assigned directly (level-ups,
+	// encounters) since the cache was built from them.
+	private boolean statsDirty = true;
+	private int cachedBaseAttack;
+	private int cachedBaseDefense;
+	private int effAttack;
+	private int effDefense;
+	private double effCrit;
+
 	// ====== Constructor ======
 	public Character(String name, int level, int health, int attack, int defense) {
 		this.name = name;
@@ -51,6 +65,38 @@ public class Character {
 		this.defense = defense;
 	}
 
+	// Back to the state the constructor leaves, so a pooled combatant can fight
+	// again. The random stream and output sink are kept; they are set per battle.
+	protected void reset(String name, int level, int health, int attack, int defense) {
+		this.name = name;
+		this.level = level;
+		this.health = this.maxHealth = health;
+		this.attack = attack;
+		this.defense = defense;
+		neverMiss = false;
+		hopeMode = false;
+		log = null;
+		combatantId = BattleLog.NONE;
+		healthWatcher = null;
+		skills.clear();
+
+		Arrays.fill(modifiers, 0);
+		effects.clear();
+		extraTurn = false;
+		chargeTurn = 0;
+		statusMask = 0;
+		Arrays.fill(statusTurns, 0);
+		statusCount = 0;
+		stunned = false;
+		frozen = false;
+		reflector = false;
+		isInvisible = false;
+		regenAmount = 0;
+		critChance = 0.1;
+		tempCritBoost = 0.0;
+		critMultiplier = 1.5;
+		statsDirty = true;
+	}
 
 	// ====== Combat Status ======
 	public boolean isAlive() {
@@ -58,7 +104,17 @@ public class Character {
 	}
 
 	public void resetHealth() {
-		health = maxHealth;
+		setHealth(maxHealth);
+	}
+
+	// Every change to health in a battle goes through here, so a watcher
+	// can keep totals without rescanning the combatants
+	protected void setHealth(int value) {
+		int before = health;
+		health = value;
+		if (healthWatcher != null && value != before) {
+			healthWatcher.healthChanged(combatantId, before, value);
+		}
 	}
 
 	public boolean hasExtraTurn() {
@@ -72,8 +128,8 @@ public class Character {
 	public void takeDamage(double damage, Character attacker) {
 		// Hope Mode protection - prevent death
 		if (hopeMode && health - damage < 1) {
-			health = 1;
-			System.out.println(name + " refuses to fall! (Hope Mode)");
+			setHealth(1);
+			out.detail("{} refuses to fall! (Hope Mode)", name);
 			return;
 		}
 
@@ -82,42 +138,41 @@ public class Character {
 			if (attacker.neverMiss) {
 				// Never miss when Sadness emotion is active
 			} else if (ran.nextInt(18) == 0) {
-				System.out.println(attacker.name + " missed");
+				out.detail("{} missed", attacker.name);
 				return;
 			}
 		}
 
-		int totalDefense = defense + defBuff - defDeBuff;
+		int totalDefense = effectiveDefense();
 		double bouncedDamage = 0;
 
 		if (hasReflector()) {
-			System.out.println(name + " has a reflector! 50% of damage is bounced back!");
+			out.detail("{} has a reflector! 50% of damage is bounced back!", name);
 			bouncedDamage = damage * 0.50;
 			damage *= 0.50;
 		}
 
 		int reduced = (int)Math.max(1, damage - totalDefense);
-		health -= reduced;
-		if (health < 0) health = 0;
-		System.out.println(name + " takes " + reduced + " damage. (HP: " + health + ")");
+		setHealth(Math.max(0, health - reduced));
+		out.detail("{} takes {} damage. (HP: {})", name, reduced, health);
+		if (log != null) {
+			log.record(BattleLog.DAMAGE, attacker == null ? BattleLog.NONE : attacker.combatantId, combatantId, reduced, 0);
+		}
 
 		if (bouncedDamage > 0 && attacker != null) {
-			attacker.health -= bouncedDamage;
-			if (attacker.health < 0) attacker.health = 0;
-			System.out.println(attacker.name + " takes " + (int)bouncedDamage + " bounced damage. (HP: " + attacker.health + ")");
+			attacker.setHealth(Math.max(0, (int) (attacker.health - bouncedDamage)));
+			out.detail("{} takes {} bounced damage. (HP: {})", attacker.name, (int)bouncedDamage, attacker.health);
+			if (log != null) {
+				log.record(BattleLog.DAMAGE, combatantId, attacker.combatantId, (int)bouncedDamage, 1);
+			}
 		}
 	}
 
 	public int getRanDmg(int base, Character attacker) {
-		int damage = base + attack + ran.nextInt(5) + attacker.attBuff - attacker.attDeBuff;
+		int damage = base + attacker.effectiveAttack() + ran.nextInt(5);
 
-		if(this.critBoostTurns == 0)
-		{
-			this.critChance = 0.1;
-		}
-		this.critChance += this.tempCritBoost;
-		if (ran.nextDouble() < critChance) {
-			System.out.println(name + " lands a CRITICAL HIT!");
+		if (ran.nextDouble() < effectiveCritChance()) {
+			out.detail("{} lands a CRITICAL HIT!", name);
 			damage *= critMultiplier;
 		}
 
@@ -125,162 +180,186 @@ public class Character {
 	}
 
 	public void heal(int amount) {
-		health = Math.min(maxHealth, health + amount);
-		System.out.println(name + " heals for " + amount + " (HP: " + health + ")");
+		setHealth(Math.min(maxHealth, health + amount));
+		out.detail("{} heals for {} (HP: {})", name, amount, health);
 	}
 
 	// ====== Buffs ======
 	public void applyBuff(String type, int amount, int turns) {
 		if (type.equals("attack")) {
-			this.attBuff += amount;
-			this.attBuffTurns = turns;
-			System.out.println(name + " gains a attack buff for " + turns + " turns");
+			addTimed(TimedEffect.ATTACK_BUFF, amount, turns);
+			out.detail("{} gains a attack buff for {} turns", name, turns);
 		} else if (type.equals("defense")) {
-			this.defBuff += amount;
-			this.defBuffTurns = turns;
-			System.out.println(name + " gains a defense buff for " + turns + " turns");
+			addTimed(TimedEffect.DEFENSE_BUFF, amount, turns);
+			out.detail("{} gains a defense buff for {} turns", name, turns);
 		} else if (type.equals("both")) {
-			this.attBuff += amount;
-			this.defBuff += amount;
-			this.attBuffTurns = turns;
-			this.defBuffTurns = turns;
-			System.out.println(name + " gains a defense and attack buff for " + turns + " turns");
+			addTimed(TimedEffect.ATTACK_BUFF, amount, turns);
+			addTimed(TimedEffect.DEFENSE_BUFF, amount, turns);
+			out.detail("{} gains a defense and attack buff for {} turns", name, turns);
 		}
 	}
 
 
 	public void applyDeBuff(String type, int amount, int turns) {
 		if (type.equals("attack")) {
-			this.attDeBuff += amount;
-			this.deAttBuffTurns = turns;
-			System.out.println(name + " loses attack for " + turns + " turns");
+			addTimed(TimedEffect.ATTACK_DEBUFF, amount, turns);
+			out.detail("{} loses attack for {} turns", name, turns);
 		} else if (type.equals("defense")) {
-			this.defDeBuff += amount;
-			this.deDefBuffTurns = turns;
-			System.out.println(name + " loses defense for " + turns + " turns");
+			addTimed(TimedEffect.DEFENSE_DEBUFF, amount, turns);
+			out.detail("{} loses defense for {} turns", name, turns);
 		} else if (type.equals("both")) {
-			this.attDeBuff += amount;
-			this.defDeBuff += amount;
-			this.deAttBuffTurns = turns;
-			this.deDefBuffTurns = turns;
-			System.out.println(name + " loses attack and defense for " + turns + " turns");
+			addTimed(TimedEffect.ATTACK_DEBUFF, amount, turns);
+			addTimed(TimedEffect.DEFENSE_DEBUFF, amount, turns);
+			out.detail("{} loses attack and defense for {} turns", name, turns);
 		}
 	}
 
+	// One turn passes: only effects due this turn are touched
 	public void updateBuffs() {
-		if (attBuffTurns > 0 && --attBuffTurns == 0) {
-			attBuff = 0;
-			System.out.println(name + "'s attack buff wore off!");
-		}
-
-		if (defBuffTurns > 0 && --defBuffTurns == 0) {
-			defBuff = 0;
-			System.out.println(name + "'s defense buff wore off!");
-		}
+		effects.advance(onExpiry);
+	}
 
-		if (deAttBuffTurns > 0 && --deAttBuffTurns == 0) {
-			attDeBuff = 0;
-			System.out.println(name + "'s attack debuff wore off!");
+	// Stacking: adds now and takes exactly its own amount back when it expires.
+	// A duration of 0 or less lasts until cleared.
+	private void addTimed(TimedEffect effect, int amount, int turns) {
+		addModifier(effect.modifier, amount);
+		if (turns > 0) {
+			effects.schedule(effect.ordinal(), amount, turns);
 		}
+	}
 
-		if (deDefBuffTurns > 0 && --deDefBuffTurns == 0) {
-			defDeBuff = 0;
-			System.out.println(name + "'s defense debuff wore off!");
+	// Single-valued: replaces whatever of this kind is still running
+	private void replaceTimed(TimedEffect effect, int turns) {
+		effects.cancel(effect.ordinal());
+		if (turns > 0) {
+			effects.schedule(effect.ordinal(), 0, turns);
 		}
+	}
 
-		if (critBoostTurns > 0 && --critBoostTurns == 0) {
+	private void expire(int kind, int amount) {
+		TimedEffect effect = TimedEffect.VALUES[kind];
+		switch (effect) {
+		case CRIT_BOOST:
 			tempCritBoost = 0.0;
-			System.out.println(name + "'s critical buff has worn off");
-		}
-
-		// NEW: Handle emotion-related buffs
-		if (neverMissTurns > 0 && --neverMissTurns == 0) {
+			statsDirty = true;
+			break;
+		case NEVER_MISS:
 			neverMiss = false;
-			System.out.println(name + " can miss again");
-		}
-
-		if (hopeModeTurns > 0 && --hopeModeTurns == 0) {
+			break;
+		case HOPE_MODE:
 			hopeMode = false;
-			System.out.println(name + "'s Hope Mode has ended!");
+			break;
+		case REGEN:
+			regenAmount = 0;
+			break;
+		default:
+			addModifier(effect.modifier, -amount);
+			break;
+		}
+		if (effect.expiredMessage != null) {
+			out.detail(effect.expiredMessage, name);
 		}
 	}
 
 
 	// Status System
-	public void setStatus(String status, int duration) {
-		status = status.toLowerCase();
-
-		int index = statusEffects.indexOf(status);
-		if(index != -1) {
-			statusDurations.set(index, duration);
-		} else {
-			statusEffects.add(status);
-			statusDurations.add(duration);
+	public void setStatus(Status status, int duration) {
+		int bit = status.bit();
+		if ((statusMask & bit) == 0) {
+			statusMask |= bit;
+			statusOrder[statusCount++] = (byte) status.ordinal();
 		}
-		System.out.println(name + " is now " + status);
+		statusTurns[status.ordinal()] = duration;
+		out.detail("{} is now {}", name, status.getName());
+		if (log != null) {
+			log.record(BattleLog.STATUS_APPLIED, BattleLog.NONE, combatantId, status.ordinal(), duration);
+		}
+	}
+
+	public boolean hasStatus(Status status) {
+		return (statusMask & status.bit()) != 0;
 	}
 
 	public void applyStatus() {
-		for(int i = 0; i < statusEffects.size(); i++) {
-			String effect = statusEffects.get(i);
-			int duration = statusDurations.get(i);
+		for (int i = 0; i < statusCount; i++) {
+			int id = statusOrder[i];
+			int duration = statusTurns[id];
 
 			if (duration <= 0) continue;
 
-			if (effect.equals("frozen")) {
+			switch (Status.VALUES[id]) {
+			case FROZEN:
 				frozen = true;
-			} else if (effect.equals("stunned")) {
+				break;
+			case STUNNED:
 				stunned = true;
-			} else if (effect.equals("burned")) {
+				break;
+			case BURNED:
 				takeDamage(5, null);
-				attack -= 2;
-				burnAttackPenalty += 2;
-			} else if (effect.equals("poisoned")) {
+				addModifier(StatModifier.BURN, 2);
+				break;
+			case POISONED:
 				takeDamage(12, null);
-			} else if (effect.equals("invisible")) {
+				break;
+			case INVISIBLE:
 				isInvisible = true;
-			} else if (effect.equals("reflect")) {
+				break;
+			case REFLECT:
 				reflector = true;
+				break;
+			default:
+				break;
 			}
-			statusDurations.set(i, duration - 1);
+			statusTurns[id] = duration - 1;
 		}
 	}
 
 	public void cleanupStatuses() {
-		for (int i = 0; i < statusEffects.size(); i++) {
-			String effect = statusEffects.get(i);
-			int duration = statusDurations.get(i);
-
-			if (duration <= 0) {
-				clearStatus(effect);
-				statusEffects.remove(i);
-				statusDurations.remove(i);
-				i--;
+		int kept = 0;
+		for (int i = 0; i < statusCount; i++) {
+			int id = statusOrder[i];
+
+			if (statusTurns[id] <= 0) {
+				clearStatus(Status.VALUES[id]);
+				statusMask &= ~(1 << id);
+			} else {
+				statusOrder[kept++] = (byte) id;
 			}
 		}
+		statusCount = kept;
 	}
 
-	public void clearStatus(String effect) {
-		if (effect.equals("frozen")) {
-			frozen = false;
-		} else if (effect.equals("stunned")) {
-			stunned = false;
-		} else if (effect.equals("burned")) {
-			attack += burnAttackPenalty;
-			burnAttackPenalty = 0;
-		} else if (effect.equals("invisible")) {
-			isInvisible = false;
-		} else if (effect.equals("reflect")) {
-			reflector = false;
-		} else if (effect.equals("all")) {
+	public void clearStatus(Status effect) {
+		switch (effect) {
+		case FROZEN:
 			frozen = false;
+			break;
+		case STUNNED:
 			stunned = false;
-			attack += burnAttackPenalty;
-			burnAttackPenalty = 0;
+			break;
+		case BURNED:
+			setModifier(StatModifier.BURN, 0);
+			break;
+		case INVISIBLE:
 			isInvisible = false;
+			break;
+		case REFLECT:
 			reflector = false;
+			break;
+		default:
+			break;
 		}
-		System.out.println(name + "'s status effect has worn off");
+		out.detail("{}'s status effect has worn off", name);
+	}
+
+	// Lifts every status effect's hold without touching the remaining durations
+	public void clearAllStatusEffects() {
+		frozen = false;
+		stunned = false;
+		setModifier(StatModifier.BURN, 0);
+		isInvisible = false;
+		reflector = false;
+		out.detail("{}'s status effect has worn off", name);
 	}
 
 	public boolean hasReflector() {
@@ -300,56 +379,183 @@ public class Character {
 	}
 
 	// ====== Regen ======
+	// Heals on the next duration calls to applyRegen; replaces any running regen
 	public void setRegen(int amount, int duration) {
-		this.regenAmount = amount;
-		this.regenDuration = duration;
+		this.regenAmount = duration > 0 ? amount : 0;
+		// updateBuffs runs before applyRegen each turn, hence the extra turn
+		replaceTimed(TimedEffect.REGEN, duration > 0 ? duration + 1 : 0);
 	}
 
 	public void applyRegen() {
-		if (regenAmount > 0 && regenDuration > 0) {
+		if (regenAmount > 0) {
 			heal(regenAmount);
-			regenDuration--;
-			if (regenDuration == 0) {
-				regenAmount = 0;
-			}
 		}
 	}
 
+	// ====== Skills ======
+	public SkillBook getSkills() {
+		return skills;
+	}
+
+	public void reduceCooldowns() {
+		skills.tick();
+	}
+
+	public void resetAllCooldowns() {
+		skills.resetCooldowns();
+	}
+
+	public void reduceAllSkillCooldowns(int amount) {
+		skills.reduceAll(amount);
+	}
+
+	public void increaseAllSkillCooldowns(int amount) {
+		skills.increaseAll(amount);
+	}
+
+	// Applies a cast to its target, or to every living member of group when the
+	// skill hits all opponents. group is null outside horde battles.
+	protected void applySkill(Skills skill, int power, Character target, List<? extends Character> group) {
+		if (group == null || skill.getTargeting() != Targeting.ALL) {
+			skill.getEffect().apply(this, target, skill, power);
+			return;
+		}
+		for (int i = 0; i < group.size(); i++) {
+			Character c = group.get(i);
+			if (c.isAlive()) skill.getEffect().apply(this, c, skill, power);
+		}
+	}
+
+	// Hooks where player and enemy versions of a SkillEffect differ
+	protected int skillDamageBonus() {
+		return 0;
+	}
+
+	protected int skillHealBonus() {
+		return 0;
+	}
+
+	protected boolean canPoison() {
+		return true;
+	}
+
+	protected void randomDebuff(Character target, int duration) {
+	}
+
+	protected void randomBuff() {
+	}
+
+	protected void tradeOff(Character target) {
+	}
+
 	// ====== Crit Chance ======
+	// Replaces any running boost; a duration of 0 or less lasts until replaced
 	public void setCritChance(double amt, int duration) {
 		this.tempCritBoost = amt;
-		this.critBoostTurns = duration;
+		replaceTimed(TimedEffect.CRIT_BOOST, duration);
+		statsDirty = true;
+	}
+
+	// ====== Modifiers & Effective Stats ======
+	public int getModifier(StatModifier kind) {
+		return modifiers[kind.ordinal()];
+	}
+
+	protected void setModifier(StatModifier kind, int value) {
+		modifiers[kind.ordinal()] = value;
+		statsDirty = true;
+	}
+
+	protected void addModifier(StatModifier kind, int amount) {
+		setModifier(kind, modifiers[kind.ordinal()] + amount);
+	}
+
+	public boolean hasStatDebuff() {
+		return getModifier(StatModifier.ATTACK_DEBUFF) > 0 || getModifier(StatModifier.DEFENSE_DEBUFF) > 0;
+	}
+
+	// Moves every running instance of one stacking effect to another,
+	// keeping amounts and remaining turns
+	protected void convertTimed(TimedEffect from, TimedEffect to) {
+		addModifier(to.modifier, getModifier(from.modifier));
+		setModifier(from.modifier, 0);
+		effects.retag(from.ordinal(), to.ordinal());
+	}
+
+	// Drops every buff, debuff and crit boost at once
+	public void clearModifiers() {
+		Arrays.fill(modifiers, 0);
+		effects.cancel(TimedEffect.ATTACK_BUFF.ordinal());
+		effects.cancel(TimedEffect.DEFENSE_BUFF.ordinal());
+		effects.cancel(TimedEffect.ATTACK_DEBUFF.ordinal());
+		effects.cancel(TimedEffect.DEFENSE_DEBUFF.ordinal());
+		effects.cancel(TimedEffect.CRIT_BOOST.ordinal());
+		tempCritBoost = 0.0;
+		statsDirty = true;
+	}
+
+	public int effectiveAttack() {
+		if (statsDirty || attack != cachedBaseAttack || defense != cachedBaseDefense) recomputeStats();
+		return effAttack;
+	}
+
+	public int effectiveDefense() {
+		if (statsDirty || attack != cachedBaseAttack || defense != cachedBaseDefense) recomputeStats();
+		return effDefense;
+	}
+
+	public double effectiveCritChance() {
+		if (statsDirty) recomputeStats();
+		return effCrit;
+	}
+
+	private void recomputeStats() {
+		int att = attack;
+		int def = defense;
+		for (StatModifier kind : StatModifier.VALUES) {
+			int value = modifiers[kind.ordinal()];
+			att += kind.attackSign * value;
+			def += kind.defenseSign * value;
+		}
+		effAttack = att;
+		effDefense = def;
+		effCrit = critChance + tempCritBoost;
+		cachedBaseAttack = attack;
+		cachedBaseDefense = defense;
+		statsDirty = false;
 	}
 
 	// ====== Display ======
 	public void displayStats() {
-		System.out.print(name + " (Level " + level + ") HP: " + health + "/" + maxHealth);
-		if (!statusEffects.isEmpty()) {
-			System.out.print(" | Status: ");
-			for (int i = 0; i < statusEffects.size(); i++) {
-				System.out.print(statusEffects.get(i) + "(" + statusDurations.get(i) + ")");
-				if (i < statusEffects.size() - 1) {
-					System.out.print(", ");
+		if (!out.isEnabled()) return;
+		out.print(name + " (Level " + level + ") HP: " + health + "/" + maxHealth);
+		if (statusCount > 0) {
+			out.print(" | Status: ");
+			for (int i = 0; i < statusCount; i++) {
+				int id = statusOrder[i];
+				out.print(Status.VALUES[id].getName() + "(" + statusTurns[id] + ")");
+				if (i < statusCount - 1) {
+					out.print(", ");
 				}
 			}
 		}
-		System.out.println("");
+		out.println("");
 	}
 
 	// ====== Emotion-Related ======
 	public void setNeverMiss(boolean value, int turns) {
 		this.neverMiss = value;
-		this.neverMissTurns = turns;
+		replaceTimed(TimedEffect.NEVER_MISS, value ? turns : 0);
 		if (value) {
-			System.out.println(name + " will never miss!");
+			out.println(name + " will never miss!");
 		}
 	}
 
 	public void setHopeMode(boolean value, int turns) {
 		this.hopeMode = value;
-		this.hopeModeTurns = turns;
+		replaceTimed(TimedEffect.HOPE_MODE, value ? turns : 0);
 		if (value) {
-			System.out.println(name + " enters Hope Mode - refuses to die!");
+			out.println(name + " enters Hope Mode - refuses to die!");
 		}
 	}
 
@@ -369,6 +575,39 @@ public class Character {
 		return name;
 	}
 
+	public SplittableRandom getRandom() {
+		return ran;
+	}
+
+	// Seeds this combatant's stream (see RunSeed)
+	public void setRandom(SplittableRandom ran) {
+		this.ran = ran;
+	}
+
+	public OutputSink getOutput() {
+		return out;
+	}
+
+	public void setOutput(OutputSink out) {
+		this.out = out;
+	}
+
+	// Set by EmotionBattle for the length of a battle; null outside one
+	public void setBattleLog(BattleLog log, int combatantId) {
+		this.log = log;
+		this.combatantId = combatantId;
+	}
+
+	// Set by HordeBattle for the length of a battle; null outside one
+	public void setHealthWatcher(HealthWatcher watcher) {
+		this.healthWatcher = watcher;
+	}
+
+	public interface HealthWatcher {
+		// combatantId as given to setBattleLog
+		void healthChanged(int combatantId, int before, int after);
+	}
+
 	public int getAttack() {
 		return attack;
 	}
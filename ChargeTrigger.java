@@ -0,0 +1,35 @@
+// The game events an emotion card can charge on. EmotionManager keeps one
+// subscriber list per trigger, indexed by ordinal, so an event only touches
+// the cards listening for it.
+public enum ChargeTrigger {
+    DAMAGE_TAKEN("damage_taken"),
+    BELOW_HALF_HEALTH("below_half_health"),
+    DAMAGE_DEALT("damage_dealt"),           // two turns in a row
+    MISS_ATTACK("miss_attack"),
+    DEBUFFED("debuffed"),
+    RNG_ACTION("rng_action"),
+    WIN_BATTLES("win_battles"),             // three battles in a row
+    LOW_HEALTH_COMBAT("low_health_combat"), // a third of max HP or less
+    FULL_HEALTH("full_health"),
+    LOSING_BADLY("losing_badly");
+
+    static final ChargeTrigger[] VALUES = values();
+    public static final int COUNT = VALUES.length;
+
+    private final String key;
+
+    ChargeTrigger(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static ChargeTrigger fromKey(String key) {
+        for (ChargeTrigger t : VALUES) {
+            if (t.key.equals(key)) return t;
+        }
+        throw new IllegalArgumentException("Unknown charge trigger: \"" + key + "\"");
+    }
+}
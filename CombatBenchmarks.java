@@ -0,0 +1,217 @@
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+// Microbenchmarks for the combat hot paths: throughput and bytes allocated
+// per operation, so every performance change has a baseline to compare with.
+//
+// Usage: java CombatBenchmarks [filter] [measureIterations]
+//
+// Each benchmark warms up for a few timed iterations before measuring. Run
+// with a fixed heap (e.g. -Xms1g -Xmx1g) for stable numbers.
+public class CombatBenchmarks {
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final long ITERATION_NANOS = 500_000_000L;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // One operation; returns something derived from the work so the JIT cannot drop it
+    interface Op {
+        long run();
+    }
+
+    // Consumed results, printed at the end for the same reason
+    private static long sink = 0;
+
+    public static void main(String[] args) {
+        String filter = args.length > 0 ? args[0] : "";
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Map<String, Op> benchmarks = new LinkedHashMap<>();
+        register(benchmarks);
+
+        System.out.printf("%-28s %14s %12s %10s%n", "Benchmark", "ops/s", "ns/op", "B/op");
+        for (Map.Entry<String, Op> b : benchmarks.entrySet()) {
+            if (b.getKey().contains(filter)) {
+                measure(b.getKey(), b.getValue(), iterations);
+            }
+        }
+        System.out.println("\n(sink " + sink + ")");
+    }
+
+    // ====== Benchmarks ======
+    private static void register(Map<String, Op> benchmarks) {
+        Player player = player("Warrior");
+        Enemy enemy = enemy();
+
+        benchmarks.put("takeDamage", () -> {
+            enemy.health = enemy.maxHealth;
+            enemy.takeDamage(30, player);
+            return enemy.health;
+        });
+
+        benchmarks.put("getRanDmg", () -> player.getRanDmg(10, player));
+
+        // Every skill type through its SkillEffect, against a fresh target
+        for (SkillEffect effect : SkillEffect.values()) {
+            Skills skill = Skills.of("Bench " + effect.getType(), 10, effect.getType(), 3, 2);
+            Player user = player("Wizard");
+            Enemy target = enemy();
+            benchmarks.put("skill/" + effect.getType(), () -> {
+                reset(user);
+                reset(target);
+                effect.apply(user, target, skill, skill.getBasePower());
+                return target.health + user.health;
+            });
+        }
+
+        Player caster = player("Monk");
+        Enemy casterTarget = enemy();
+        benchmarks.put("Player.useSkill", () -> {
+            reset(caster);
+            reset(casterTarget);
+            caster.resetAllCooldowns();
+            caster.useSkill(0, casterTarget);
+            return casterTarget.health;
+        });
+
+        Enemy enemyCaster = enemy();
+        Player enemyTarget = player("Bandit");
+        benchmarks.put("Enemy.useSkill", () -> {
+            reset(enemyCaster);
+            reset(enemyTarget);
+            enemyCaster.resetAllCooldowns();
+            enemyCaster.useSkill(enemyTarget);
+            return enemyTarget.health;
+        });
+
+        Enemy afflicted = enemy();
+        benchmarks.put("applyStatus+cleanup", () -> {
+            afflicted.health = afflicted.maxHealth;
+            afflicted.setStatus(Status.BURNED, 2);
+            afflicted.setStatus(Status.POISONED, 1);
+            afflicted.setStatus(Status.STUNNED, 1);
+            afflicted.applyStatus();
+            afflicted.cleanupStatuses();
+            afflicted.applyStatus();
+            afflicted.cleanupStatuses();
+            return afflicted.health;
+        });
+
+        Player feeler = player("Alchemist");
+        EmotionManager emotions = new EmotionManager(feeler);
+        while (emotions.hasLockedEmotions()) emotions.unlockNextEmotion();
+        emotions.selectEmotionsForBattle(new AutoPilot(feeler, new SplittableRandom(1)), new SplittableRandom(2));
+        benchmarks.put("emotion charge dispatch", () -> {
+            emotions.onDamageTaken(12);
+            emotions.onDamageDealt();
+            emotions.onMissedAttack();
+            emotions.onDebuffApplied();
+            emotions.onRNGAction();
+            emotions.checkLowHealthCombat();
+            emotions.checkFullHealth();
+            emotions.checkLosingBadly(20, 100, 80, 100);
+            for (EmotionCard e : emotions.getActiveEmotions()) e.resetCharge();
+            return emotions.getActiveEmotions().size();
+        });
+
+        RunSeed seed = new RunSeed(42);
+        BattleLog log = new BattleLog(BattleLog.DEFAULT_CAPACITY);
+        int[] battle = { 0 };
+        benchmarks.put("EmotionBattle (headless)", () -> {
+            RunSeed battleSeed = seed.child(battle[0]++);
+            Player p = new Player("Bench", "Warrior");
+            p.setOutput(OutputSink.NONE);
+            p.setRandom(battleSeed.stream(RunSeed.PLAYER));
+            AutoPilot pilot = new AutoPilot(p, battleSeed.stream(RunSeed.DECISIONS));
+            Enemy e = EnemyRegistry.get().spawn(0, 1);
+            e.setOutput(OutputSink.NONE);
+            e.setRandom(battleSeed.stream(RunSeed.ENEMY));
+            EmotionBattle b = new EmotionBattle(p, e, new EmotionManager(p), null, null, pilot);
+            b.setLog(log);
+            b.start();
+            return b.getTurns();
+        });
+
+        // The same battles through a BattleContext, which resets instead of allocating
+        BattleContext context = BattleContext.forThread();
+        int[] pooled = { 0 };
+        benchmarks.put("EmotionBattle (pooled)", () -> {
+            RunSeed battleSeed = seed.child(pooled[0]++);
+            Player p = context.player("Warrior");
+            p.setRandom(battleSeed.stream(RunSeed.PLAYER));
+            AutoPilot pilot = context.pilot(battleSeed.stream(RunSeed.DECISIONS));
+            Enemy e = context.enemy(0, 1);
+            e.setRandom(battleSeed.stream(RunSeed.ENEMY));
+            EmotionBattle b = context.battle(null, null, pilot);
+            b.start();
+            return b.getTurns();
+        });
+    }
+
+    private static Player player(String classType) {
+        Player p = new Player("Bench", classType);
+        p.setOutput(OutputSink.NONE);
+        p.setRandom(new SplittableRandom(7));
+        return p;
+    }
+
+    private static Enemy enemy() {
+        Enemy e = EnemyRegistry.get().spawn(0, 5);
+        e.setOutput(OutputSink.NONE);
+        e.setRandom(new SplittableRandom(11));
+        e.maxHealth = e.health = 1_000_000;
+        return e;
+    }
+
+    // Undo what a skill did so every operation starts from the same state
+    private static void reset(Character c) {
+        c.health = c.maxHealth;
+        c.clearAllStatusEffects();
+        c.clearModifiers();
+        c.setRegen(0, 0);
+        c.chargeTurn = 0;
+    }
+
+    // ====== Measurement ======
+    private static void measure(String name, Op op, int iterations) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration(op);
+        }
+
+        double opsPerSec = 0;
+        double bytesPerOp = 0;
+        for (int i = 0; i < iterations; i++) {
+            double[] r = iteration(op);
+            opsPerSec += r[0];
+            bytesPerOp += r[1];
+        }
+        opsPerSec /= iterations;
+        bytesPerOp /= iterations;
+        System.out.printf("%-28s %14.0f %12.1f %10.1f%n", name, opsPerSec, 1e9 / opsPerSec, bytesPerOp);
+    }
+
+    // Runs op in batches until the iteration time is up; returns { ops/s, bytes/op }
+    private static double[] iteration(Op op) {
+        long thread = Thread.currentThread().getId();
+        long acc = 0;
+        long ops = 0;
+        long batch = 64;
+
+        long bytesBefore = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (long i = 0; i < batch; i++) {
+                acc += op.run();
+            }
+            ops += batch;
+            elapsed = System.nanoTime() - start;
+            if (elapsed < ITERATION_NANOS / 16) batch <<= 1;
+        } while (elapsed < ITERATION_NANOS);
+        long bytes = THREADS.getThreadAllocatedBytes(thread) - bytesBefore;
+
+        sink += acc;
+        return new double[] { ops * 1e9 / elapsed, (double) bytes / ops };
+    }
+}
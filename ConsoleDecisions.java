@@ -0,0 +1,20 @@
+// Reads decisions typed by the player
+public class ConsoleDecisions implements DecisionSource {
+    private final InputService input;
+
+    public ConsoleDecisions() {
+        this(InputService.console());
+    }
+
+    public ConsoleDecisions(InputService input) {
+        this.input = input;
+    }
+
+    public int choose(Choice choice, int options) {
+        return input.nextInt();
+    }
+
+    public void pause() {
+        input.nextLine();
+    }
+}
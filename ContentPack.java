@@ -0,0 +1,555 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// Classes, specializations, enemies and biomes, read from a text content pack
+// (content.txt) instead of being hardcoded. See the top of that file for the
+// format.
+//
+// The first load parses and validates the text and compiles it into a binary
+// cache next to it (content.bin). Later starts memory-map the cache as long as
+// it was built from a source of the same size and modification time, so
+// simulations pay almost nothing to start. Any mistake in the text stops the
+// game at load with the file and line, instead of surfacing mid-run.
+public final class ContentPack {
+    // -Dcontent.pack=path picks another pack
+    public static final String SOURCE_PROPERTY = "content.pack";
+    public static final String DEFAULT_SOURCE = "content.txt";
+
+    private static final int MAGIC = 0x45435043; // "ECPC"
+    private static final int VERSION = 2;
+
+    private static final class Holder {
+        static final ContentPack INSTANCE = load(Path.of(System.getProperty(SOURCE_PROPERTY, DEFAULT_SOURCE)));
+    }
+
+    public static ContentPack get() {
+        return Holder.INSTANCE;
+    }
+
+    // ====== Definitions ======
+    static final class ClassDef {
+        final String name;
+        int hp = -1, attack, defense;
+        List<Skills> skills = new ArrayList<>();
+        final List<SpecDef> specs = new ArrayList<>();
+
+        ClassDef(String name) { this.name = name; }
+    }
+
+    static final class SpecDef {
+        final String name;
+        String description;
+        boolean hasDelta;
+        int hp, attack, defense;
+        List<Skills> skills = new ArrayList<>();
+
+        SpecDef(String name) { this.name = name; }
+
+        // e.g. "[-4 ATK, +2 DEF, +16 HP]", always matching what statChange applies
+        String statLabel() {
+            return "[" + signed(attack) + " ATK, " + signed(defense) + " DEF, " + signed(hp) + " HP]";
+        }
+
+        private static String signed(int v) {
+            return v >= 0 ? "+" + v : String.valueOf(v);
+        }
+    }
+
+    static final class EnemyDef {
+        final String name;
+        boolean spawnable;
+        int level, hp, attack, defense, xpReward;
+        List<Skills> skills = new ArrayList<>();
+
+        EnemyDef(String name) { this.name = name; }
+    }
+
+    static final class BiomeDef {
+        final String name;
+        String description;
+        final List<String> weather = new ArrayList<>();
+        final List<String> events = new ArrayList<>();
+        final List<String> enemies = new ArrayList<>();
+
+        BiomeDef(String name) { this.name = name; }
+    }
+
+    private final List<ClassDef> classes = new ArrayList<>();
+    private final Map<String, ClassDef> classesByName = new HashMap<>();
+    private final List<EnemyDef> enemies = new ArrayList<>();
+    private final Map<String, EnemyDef> enemiesByName = new HashMap<>();
+    private final List<BiomeDef> biomes = new ArrayList<>();
+    private final List<String> problems = new ArrayList<>();
+    private boolean fromCache = false;
+
+    private ContentPack() {
+    }
+
+    // ====== Lookups ======
+    public List<String> getClassNames() {
+        List<String> names = new ArrayList<>(classes.size());
+        for (ClassDef c : classes) names.add(c.name);
+        return names;
+    }
+
+    // Case-insensitive; null if the pack has no such class
+    ClassDef findClass(String name) {
+        return classesByName.get(name.toLowerCase());
+    }
+
+    SpecDef findSpec(String classType, String specName) {
+        ClassDef c = findClass(classType);
+        if (c == null) return null;
+        for (SpecDef s : c.specs) {
+            if (s.name.equalsIgnoreCase(specName)) return s;
+        }
+        return null;
+    }
+
+    // In file order, which is also tier order
+    List<EnemyDef> getEnemies() {
+        return enemies;
+    }
+
+    EnemyDef findEnemy(String name) {
+        return enemiesByName.get(name.toLowerCase());
+    }
+
+    List<BiomeDef> getBiomes() {
+        return biomes;
+    }
+
+    // Things worth a warning that do not stop the game
+    public List<String> getProblems() {
+        return problems;
+    }
+
+    public boolean isFromCache() {
+        return fromCache;
+    }
+
+    // ====== Loading ======
+    static ContentPack load(Path source) {
+        if (!Files.isRegularFile(source)) {
+            throw new IllegalStateException("Content pack not found: " + source.toAbsolutePath());
+        }
+        try {
+            long size = Files.size(source);
+            long modified = Files.getLastModifiedTime(source).toMillis();
+            Path cache = cachePathFor(source);
+
+            ContentPack pack = readCache(cache, size, modified);
+            if (pack != null) return pack;
+
+            pack = parse(Files.readAllLines(source, StandardCharsets.UTF_8), source.toString());
+            writeCache(pack, cache, size, modified);
+            return pack;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read content pack " + source, e);
+        }
+    }
+
+    private static Path cachePathFor(Path source) {
+        String name = source.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return source.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + ".bin");
+    }
+
+    // ====== Text format ======
+    static ContentPack parse(List<String> lines, String source) {
+        ContentPack pack = new ContentPack();
+        Object section = null;
+
+        for (int i = 0; i < lines.size(); i++) {
+            String where = source + ":" + (i + 1) + ": ";
+            String line = lines.get(i).strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            try {
+                if (line.startsWith("[")) {
+                    if (!line.endsWith("]")) throw new IllegalArgumentException("unclosed section header");
+                    section = pack.openSection(line.substring(1, line.length() - 1).strip());
+                    continue;
+                }
+
+                int eq = line.indexOf('=');
+                if (eq < 0) throw new IllegalArgumentException("expected key = value");
+                if (section == null) throw new IllegalArgumentException("entry outside of any section");
+                pack.setField(section, line.substring(0, eq).strip(), line.substring(eq + 1).strip());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException(where + e.getMessage(), e);
+            }
+        }
+
+        pack.validate(source);
+        return pack;
+    }
+
+    private Object openSection(String header) {
+        int space = header.indexOf(' ');
+        if (space < 0) throw new IllegalArgumentException("section needs a kind and a name: [" + header + "]");
+        String kind = header.substring(0, space);
+        String name = header.substring(space + 1).strip();
+
+        switch (kind) {
+            case "class": {
+                ClassDef c = new ClassDef(name);
+                if (classesByName.putIfAbsent(name.toLowerCase(), c) != null) {
+                    throw new IllegalArgumentException("duplicate class \"" + name + "\"");
+                }
+                classes.add(c);
+                return c;
+            }
+            case "spec": {
+                String[] parts = split(name, "/", 2);
+                ClassDef c = findClass(parts[0]);
+                if (c == null) throw new IllegalArgumentException("specialization for unknown class \"" + parts[0] + "\"");
+                for (SpecDef s : c.specs) {
+                    if (s.name.equalsIgnoreCase(parts[1])) {
+                        throw new IllegalArgumentException("duplicate specialization \"" + parts[1] + "\"");
+                    }
+                }
+                SpecDef s = new SpecDef(parts[1]);
+                c.specs.add(s);
+                return s;
+            }
+            case "enemy": {
+                EnemyDef e = new EnemyDef(name);
+                if (enemiesByName.putIfAbsent(name.toLowerCase(), e) != null) {
+                    throw new IllegalArgumentException("duplicate enemy \"" + name + "\"");
+                }
+                enemies.add(e);
+                return e;
+            }
+            case "biome": {
+                BiomeDef b = new BiomeDef(name);
+                biomes.add(b);
+                return b;
+            }
+            default:
+                throw new IllegalArgumentException("unknown section kind \"" + kind + "\"");
+        }
+    }
+
+    private void setField(Object section, String key, String value) {
+        if (key.equals("skill") && !(section instanceof BiomeDef)) {
+            skillsOf(section).add(parseSkill(value));
+        } else if (section instanceof ClassDef && key.equals("stats")) {
+            ClassDef c = (ClassDef) section;
+            int[] v = ints(value, 3);
+            c.hp = v[0];
+            c.attack = v[1];
+            c.defense = v[2];
+        } else if (section instanceof SpecDef && key.equals("desc")) {
+            ((SpecDef) section).description = value;
+        } else if (section instanceof SpecDef && key.equals("delta")) {
+            SpecDef s = (SpecDef) section;
+            int[] v = ints(value, 3);
+            s.hp = v[0];
+            s.attack = v[1];
+            s.defense = v[2];
+            s.hasDelta = true;
+        } else if (section instanceof EnemyDef && key.equals("stats")) {
+            EnemyDef e = (EnemyDef) section;
+            int[] v = ints(value, 5);
+            e.level = v[0];
+            e.hp = v[1];
+            e.attack = v[2];
+            e.defense = v[3];
+            e.xpReward = v[4];
+            e.spawnable = true;
+        } else if (section instanceof BiomeDef && key.equals("desc")) {
+            ((BiomeDef) section).description = value;
+        } else if (section instanceof BiomeDef && key.equals("weather")) {
+            Collections.addAll(((BiomeDef) section).weather, split(value, "|", -1));
+        } else if (section instanceof BiomeDef && key.equals("events")) {
+            Collections.addAll(((BiomeDef) section).events, split(value, "|", -1));
+        } else if (section instanceof BiomeDef && key.equals("enemies")) {
+            Collections.addAll(((BiomeDef) section).enemies, split(value, "|", -1));
+        } else {
+            throw new IllegalArgumentException("unknown key \"" + key + "\" here");
+        }
+    }
+
+    private static List<Skills> skillsOf(Object section) {
+        if (section instanceof ClassDef) return ((ClassDef) section).skills;
+        if (section instanceof SpecDef) return ((SpecDef) section).skills;
+        return ((EnemyDef) section).skills;
+    }
+
+    // name | power | type | cooldown | duration [| all]
+    private static Skills parseSkill(String value) {
+        String[] f = split(value, "|", -1);
+        if (f.length != 5 && f.length != 6) {
+            throw new IllegalArgumentException("expected 5 or 6 fields separated by '|', found " + f.length);
+        }
+        Targeting targeting = Targeting.SINGLE;
+        if (f.length == 6) {
+            if (!f[5].equals("all")) throw new IllegalArgumentException("unknown targeting \"" + f[5] + "\"");
+            targeting = Targeting.ALL;
+        }
+        // Skills resolves the type here, so a misspelled type fails at load
+        return Skills.of(f[0], number(f[1]), f[2], number(f[3]), number(f[4]), targeting);
+    }
+
+    private static String[] split(String value, String separator, int expected) {
+        String[] parts = value.split(java.util.regex.Pattern.quote(separator), -1);
+        if (expected > 0 && parts.length != expected) {
+            throw new IllegalArgumentException("expected " + expected + " fields separated by '" + separator
+                                               + "', found " + parts.length);
+        }
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = parts[i].strip();
+            if (parts[i].isEmpty()) throw new IllegalArgumentException("empty field in \"" + value + "\"");
+        }
+        return parts;
+    }
+
+    private static int[] ints(String value, int expected) {
+        String[] parts = value.split("\\s+");
+        if (parts.length != expected) {
+            throw new IllegalArgumentException("expected " + expected + " numbers, found " + parts.length);
+        }
+        int[] out = new int[expected];
+        for (int i = 0; i < expected; i++) out[i] = number(parts[i]);
+        return out;
+    }
+
+    private static int number(String s) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("not a number: \"" + s + "\"");
+        }
+    }
+
+    // Whole-pack checks once everything is read
+    private void validate(String source) {
+        List<String> errors = new ArrayList<>();
+        if (classes.isEmpty()) errors.add("no classes");
+        if (biomes.isEmpty()) errors.add("no biomes");
+
+        for (ClassDef c : classes) {
+            if (c.hp < 0) errors.add("class \"" + c.name + "\" has no stats");
+            if (c.skills.isEmpty()) errors.add("class \"" + c.name + "\" has no skills");
+            for (SpecDef s : c.specs) {
+                if (!s.hasDelta) errors.add("specialization \"" + s.name + "\" has no delta");
+                if (s.description == null) errors.add("specialization \"" + s.name + "\" has no desc");
+                if (s.skills.isEmpty()) errors.add("specialization \"" + s.name + "\" has no skills");
+            }
+        }
+
+        boolean anySpawnable = false;
+        for (EnemyDef e : enemies) {
+            if (!e.spawnable) {
+                problems.add("Enemy \"" + e.name + "\" has skills but no stats, so it never spawns");
+            } else {
+                anySpawnable = true;
+                if (e.skills.isEmpty()) problems.add("Enemy \"" + e.name + "\" has no skills");
+            }
+        }
+        if (!anySpawnable) errors.add("no enemies with stats");
+
+        for (BiomeDef b : biomes) {
+            if (b.description == null) errors.add("biome \"" + b.name + "\" has no desc");
+            if (b.enemies.isEmpty()) errors.add("biome \"" + b.name + "\" has no enemies");
+            for (String name : b.enemies) {
+                EnemyDef e = findEnemy(name);
+                if (e == null || !e.spawnable) {
+                    errors.add("biome \"" + b.name + "\" spawns \"" + name + "\" but there is no enemy with stats by that name");
+                }
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException(source + ": " + String.join("; ", errors));
+        }
+
+        // Skill lists are handed out as they are from here on
+        for (ClassDef c : classes) {
+            c.skills = List.copyOf(c.skills);
+            for (SpecDef s : c.specs) s.skills = List.copyOf(s.skills);
+        }
+        for (EnemyDef e : enemies) e.skills = List.copyOf(e.skills);
+    }
+
+    // ====== Binary cache ======
+    // Header: magic, version, source size, source modification time; then the
+    // same sections as the text, strings as length + UTF-8
+    private static void writeCache(ContentPack pack, Path cache, long size, long modified) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(size);
+            out.writeLong(modified);
+
+            out.writeInt(pack.classes.size());
+            for (ClassDef c : pack.classes) {
+                writeString(out, c.name);
+                out.writeInt(c.hp);
+                out.writeInt(c.attack);
+                out.writeInt(c.defense);
+                writeSkills(out, c.skills);
+                out.writeInt(c.specs.size());
+                for (SpecDef s : c.specs) {
+                    writeString(out, s.name);
+                    writeString(out, s.description);
+                    out.writeInt(s.hp);
+                    out.writeInt(s.attack);
+                    out.writeInt(s.defense);
+                    writeSkills(out, s.skills);
+                }
+            }
+
+            out.writeInt(pack.enemies.size());
+            for (EnemyDef e : pack.enemies) {
+                writeString(out, e.name);
+                out.writeBoolean(e.spawnable);
+                out.writeInt(e.level);
+                out.writeInt(e.hp);
+                out.writeInt(e.attack);
+                out.writeInt(e.defense);
+                out.writeInt(e.xpReward);
+                writeSkills(out, e.skills);
+            }
+
+            out.writeInt(pack.biomes.size());
+            for (BiomeDef b : pack.biomes) {
+                writeString(out, b.name);
+                writeString(out, b.description);
+                writeStrings(out, b.weather);
+                writeStrings(out, b.events);
+                writeStrings(out, b.enemies);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Best effort: a read-only install just parses the text every time
+        try {
+            Path tmp = cache.resolveSibling(cache.getFileName() + ".tmp");
+            Files.write(tmp, bytes.toByteArray());
+            Files.move(tmp, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UnsupportedOperationException e) {
+            // keep going with the parsed pack
+        }
+    }
+
+    private static void writeSkills(DataOutputStream out, List<Skills> skills) throws IOException {
+        out.writeInt(skills.size());
+        for (Skills s : skills) {
+            writeString(out, s.getName());
+            out.writeInt(s.getBasePower());
+            writeString(out, s.getType());
+            out.writeInt(s.getCooldown());
+            out.writeInt(s.getDuration());
+            out.writeByte(s.getTargeting().ordinal());
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String s : strings) writeString(out, s);
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    // null when the cache is missing, stale or unreadable; the caller then parses the text
+    private static ContentPack readCache(Path cache, long size, long modified) {
+        if (!Files.isRegularFile(cache)) return null;
+        try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) return null;
+            if (in.getLong() != size || in.getLong() != modified) return null;
+
+            ContentPack pack = new ContentPack();
+            int classCount = in.getInt();
+            for (int i = 0; i < classCount; i++) {
+                ClassDef c = new ClassDef(readString(in));
+                c.hp = in.getInt();
+                c.attack = in.getInt();
+                c.defense = in.getInt();
+                readSkills(in, c.skills);
+                int specCount = in.getInt();
+                for (int j = 0; j < specCount; j++) {
+                    SpecDef s = new SpecDef(readString(in));
+                    s.description = readString(in);
+                    s.hp = in.getInt();
+                    s.attack = in.getInt();
+                    s.defense = in.getInt();
+                    s.hasDelta = true;
+                    readSkills(in, s.skills);
+                    c.specs.add(s);
+                }
+                pack.classes.add(c);
+                pack.classesByName.put(c.name.toLowerCase(), c);
+            }
+
+            int enemyCount = in.getInt();
+            for (int i = 0; i < enemyCount; i++) {
+                EnemyDef e = new EnemyDef(readString(in));
+                e.spawnable = in.get() != 0;
+                e.level = in.getInt();
+                e.hp = in.getInt();
+                e.attack = in.getInt();
+                e.defense = in.getInt();
+                e.xpReward = in.getInt();
+                readSkills(in, e.skills);
+                pack.enemies.add(e);
+                pack.enemiesByName.put(e.name.toLowerCase(), e);
+            }
+
+            int biomeCount = in.getInt();
+            for (int i = 0; i < biomeCount; i++) {
+                BiomeDef b = new BiomeDef(readString(in));
+                b.description = readString(in);
+                readStrings(in, b.weather);
+                readStrings(in, b.events);
+                readStrings(in, b.enemies);
+                pack.biomes.add(b);
+            }
+
+            pack.validate(cache.toString());
+            pack.fromCache = true;
+            return pack;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private static void readSkills(ByteBuffer in, List<Skills> skills) {
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            String name = readString(in);
+            int power = in.getInt();
+            String type = readString(in);
+            int cooldown = in.getInt();
+            int duration = in.getInt();
+            skills.add(Skills.of(name, power, type, cooldown, duration, Targeting.values()[in.get()]));
+        }
+    }
+
+    private static void readStrings(ByteBuffer in, List<String> strings) {
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) strings.add(readString(in));
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) throw new BufferUnderflowException();
+        byte[] b = new byte[length];
+        in.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,24 @@
+// Supplies every choice the engine would otherwise read from the keyboard.
+// Answers are 1-based, matching the numbered menus printed to the player.
+public interface DecisionSource {
+
+    // Replay files store the ordinal next to each answer; only append new kinds
+    enum Choice {
+        ACTION,          // 1 = normal attack, 2 = use skill
+        SKILL,           // index into Player.getSkills()
+        LEVEL_UP_BUFF,   // 1 = HP, 2 = attack, 3 = defense
+        SPECIALIZATION,  // index into SpecializationManager.getSpecializationsForClass
+        EMOTION,         // index into EmotionManager.getUnlockedEmotions()
+        CLASS,           // 1-6, the class menu in Main
+        ENCOUNTER,       // option of the current mystery encounter
+        POST_BATTLE,     // one of the three post-battle choices
+        MASTERY,         // index into EmotionManager.getUnlockedEmotions()
+        TARGET           // living enemy in a horde battle, in slot order
+    }
+
+    int choose(Choice choice, int options);
+
+    // "Press Enter to continue"; nothing is decided, so nothing is recorded
+    default void pause() {
+    }
+}
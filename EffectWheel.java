@@ -0,0 +1,143 @@
+import java.util.*;
+
+// Timed effects of one combatant, bucketed by the turn they expire on.
+//
+// The wheel has SLOTS buckets; an effect lasting t turns goes into bucket
+// (now + t) % SLOTS, so advancing a turn only visits the one bucket that can
+// expire, however many effects are running. Effects longer than the wheel
+// stay in their bucket until the lap they are due. Entries live in parallel
+// int arrays linked through next[], with a free list, so scheduling does not
+// allocate once the arrays have grown to the battle's peak.
+public final class EffectWheel {
+    // Receives each effect as it expires
+    public interface Expiry {
+        void expired(int kind, int amount);
+    }
+
+    private static final int SLOTS = 16; // power of two
+    private static final int MASK = SLOTS - 1;
+    private static final int NIL = -1;
+
+    private final int[] heads = new int[SLOTS];
+    private int[] kinds = new int[8];
+    private int[] amounts = new int[8];
+    private int[] expiries = new int[8];
+    private int[] next = new int[8];
+    private int free = NIL;
+    private int allocated = 0;
+    private int pending = 0;
+    private int now = 0;
+
+    public EffectWheel() {
+        Arrays.fill(heads, NIL);
+    }
+
+    public int now() {
+        return now;
+    }
+
+    public int pending() {
+        return pending;
+    }
+
+    // Expires after turns calls to advance(); turns must be positive
+    public void schedule(int kind, int amount, int turns) {
+        if (turns <= 0) {
+            throw new IllegalArgumentException("Duration must be positive: " + turns);
+        }
+        int e = allocate();
+        kinds[e] = kind;
+        amounts[e] = amount;
+        expiries[e] = now + turns;
+        int slot = expiries[e] & MASK;
+        next[e] = heads[slot];
+        heads[slot] = e;
+        pending++;
+    }
+
+    // One turn passes; everything due now is removed and handed to expiry
+    public void advance(Expiry expiry) {
+        now++;
+        int slot = now & MASK;
+        int e = heads[slot];
+        if (e == NIL) return;
+
+        heads[slot] = NIL;
+        while (e != NIL) {
+            int following = next[e];
+            if (expiries[e] == now) {
+                int kind = kinds[e];
+                int amount = amounts[e];
+                release(e);
+                expiry.expired(kind, amount);
+            } else {
+                next[e] = heads[slot];
+                heads[slot] = e;
+            }
+            e = following;
+        }
+    }
+
+    // Drops every pending effect of this kind without firing it
+    public void cancel(int kind) {
+        if (pending == 0) return;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int e = heads[slot];
+            heads[slot] = NIL;
+            while (e != NIL) {
+                int following = next[e];
+                if (kinds[e] == kind) {
+                    release(e);
+                } else {
+                    next[e] = heads[slot];
+                    heads[slot] = e;
+                }
+                e = following;
+            }
+        }
+    }
+
+    // Pending effects of one kind become another, keeping amount and expiry
+    public void retag(int from, int to) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            for (int e = heads[slot]; e != NIL; e = next[e]) {
+                if (kinds[e] == from) kinds[e] = to;
+            }
+        }
+    }
+
+    public void clear() {
+        if (pending == 0) return;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            int e = heads[slot];
+            while (e != NIL) {
+                int following = next[e];
+                release(e);
+                e = following;
+            }
+            heads[slot] = NIL;
+        }
+    }
+
+    private int allocate() {
+        if (free != NIL) {
+            int e = free;
+            free = next[e];
+            return e;
+        }
+        if (allocated == kinds.length) {
+            int capacity = allocated * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            expiries = Arrays.copyOf(expiries, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return allocated++;
+    }
+
+    private void release(int e) {
+        next[e] = free;
+        free = e;
+        pending--;
+    }
+}
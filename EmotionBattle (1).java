@@ -1,12 +1,16 @@
 import java.util.*;
 
 public class EmotionBattle {
+	private static final String RULE = "=".repeat(50);
+
 	private Player player;
 	private Enemy enemy;
-	private Scanner scanner;
+	private DecisionSource decisions;
+	private OutputSink out;
 	private EmotionManager emotionManager;
 	private Weather weather;
 	private BattleEvent battleEvent;
+	private BattleLog log;
 	private int turn = 0;
 
 	// Tracking for emotion charges
@@ -18,19 +22,54 @@ public class EmotionBattle {
 
 	public EmotionBattle(Player player, Enemy enemy, EmotionManager emotionManager,
 	                     Weather weather, BattleEvent battleEvent) {
+		this(player, enemy, emotionManager, weather, battleEvent, new ConsoleDecisions());
+	}
+
+	// Headless form: choices come from the given source and text goes to the player's sink
+	public EmotionBattle(Player player, Enemy enemy, EmotionManager emotionManager,
+	                     Weather weather, BattleEvent battleEvent, DecisionSource decisions) {
+		reset(player, enemy, emotionManager, weather, battleEvent, decisions);
+	}
+
+	// Sets up another battle on this object, keeping the log (see BattleContext)
+	public void reset(Player player, Enemy enemy, EmotionManager emotionManager,
+	                  Weather weather, BattleEvent battleEvent, DecisionSource decisions) {
 		this.player = player;
 		this.enemy = enemy;
 		this.emotionManager = emotionManager;
 		this.weather = weather;
 		this.battleEvent = battleEvent;
-		this.scanner = new Scanner(System.in);
+		this.decisions = decisions;
+		this.out = player.getOutput();
+		turn = 0;
+		playerDamageDealtThisTurn = 0;
+		playerHealthAtTurnStart = 0;
+		enemyHealthAtTurnStart = 0;
+		playerAttackCount = 0;
+		firstHealUsed = false;
+	}
+
+	// Lets a caller that runs many battles reuse one log; it is cleared on
+	// start(), which makes its own if none was set
+	public void setLog(BattleLog log) {
+		this.log = log;
+	}
+
+	public BattleLog getLog() {
+		return log;
 	}
 
 	public boolean start() {
-		System.out.println("\n--- A wild " + enemy.getName() + " appears! ---");
+		if (out.isEnabled()) out.println("\n--- A wild " + enemy.getName() + " appears! ---");
 
 		player.resetAllCooldowns();
 		enemy.resetAllCooldowns();
+
+		if (log == null) log = new BattleLog(BattleLog.DEFAULT_CAPACITY);
+		log.clear();
+		player.setBattleLog(log, BattleLog.PLAYER);
+		enemy.setBattleLog(log, BattleLog.ENEMY);
+		emotionManager.setBattleLog(log);
 		
 		// Apply battle event start effects
 		if (battleEvent != null) {
@@ -40,6 +79,7 @@ public class EmotionBattle {
 		while (player.isAlive() && enemy.isAlive()) {
 			// Start of turn setup
 			turn++;
+			log.startTurn(turn);
 			playerHealthAtTurnStart = player.health;
 			enemyHealthAtTurnStart = enemy.health;
 			playerDamageDealtThisTurn = 0;
@@ -70,15 +110,17 @@ public class EmotionBattle {
 			// Update emotions
 			emotionManager.updateEmotions();
 
-			System.out.println("\n" + "=".repeat(50));
-			System.out.println("Turn " + turn);
-			System.out.println("=".repeat(50));
+			if (out.isEnabled()) {
+				out.println("\n" + RULE);
+				out.println("Turn " + turn);
+				out.println(RULE);
 
-			// Display stats
-			player.displayStats();
-			emotionManager.displayEmotionStatus();
-			System.out.println();
-			enemy.displayStats();
+				// Display stats
+				player.displayStats();
+				emotionManager.displayEmotionStatus();
+				out.println();
+				enemy.displayStats();
+			}
 
 			// Player's turn
 			player.applyStatus();
@@ -99,7 +141,7 @@ public class EmotionBattle {
 
 			// Extra turn
 			if (player.hasExtraTurn() && enemy.isAlive()) {
-				System.out.println("\n" + player.getName() + " gets an extra turn!");
+				out.println("\n" + player.getName() + " gets an extra turn!");
 				int enemyHealthBefore = enemy.health;
 				handlePlayerAction();
 				playerDamageDealtThisTurn += Math.max(0, enemyHealthBefore - enemy.health);
@@ -138,42 +180,52 @@ public class EmotionBattle {
 		}
 
 		// End of battle
+		player.setBattleLog(null, BattleLog.NONE);
+		enemy.setBattleLog(null, BattleLog.NONE);
+		emotionManager.setBattleLog(null);
+
 		if (player.isAlive()) {
-			System.out.println("\n*** VICTORY! ***");
-			System.out.println("You defeated the " + enemy.getName() + "!");
+			out.println("\n*** VICTORY! ***");
+			if (out.isEnabled()) out.println("You defeated the " + enemy.getName() + "!");
 			return true;
 		} else {
-			System.out.println("\n*** DEFEAT ***");
-			System.out.println("You were defeated by the " + enemy.getName() + "...");
+			out.println("\n*** DEFEAT ***");
+			if (out.isEnabled()) out.println("You were defeated by the " + enemy.getName() + "...");
 			return false;
 		}
 	}
 
+	public int getTurns() {
+		return turn;
+	}
+
 	public int getXPReward() {
 		return enemy.getXpReward();
 	}
 
 	private void handlePlayerSkipTurn() {
 		if (player.isFrozen()) {
-			System.out.println(player.name + " is frozen, their turn is skipped");
+			out.detail("{} is frozen, their turn is skipped", player.name);
 			player.takeDamage(8, null);
 		} else if (player.isStunned()) {
-			System.out.println(player.name + " is stunned, their turn is skipped");
+			out.detail("{} is stunned, their turn is skipped", player.name);
 		}
 	}
 
 	private void handleInvisibleEnemy() {
-		System.out.println(enemy.name + " is invisible. " + player.name + " misses!");
+		out.detail("{} is invisible. {} misses!", enemy.name, player.name);
 		emotionManager.onMissedAttack();
 	}
 
 	private void handlePlayerAction() {
-		System.out.println("\nChoose an action:");
-		System.out.println("1. Normal Attack");
-		System.out.println("2. Use Skill");
+		if (out.isEnabled()) {
+			out.println("\nChoose an action:");
+			out.println("1. Normal Attack");
+			out.println("2. Use Skill");
+		}
 
-		int choice = scanner.nextInt();
-		System.out.println();
+		int choice = decisions.choose(DecisionSource.Choice.ACTION, 2);
+		out.println();
 
 		int enemyHealthBefore = enemy.health;
 
@@ -194,7 +246,7 @@ public class EmotionBattle {
 			// Apply snow drift penalty (first attack half damage)
 			if (battleEvent != null && battleEvent.hasSnowDriftPenalty(playerAttackCount)) {
 				damage = damage / 2;
-				System.out.println("  -> Snow hinders your movement! Damage halved.");
+				out.detail("  -> Snow hinders your movement! Damage halved.");
 			}
 			
 			// Apply lava pool damage
@@ -212,42 +264,44 @@ public class EmotionBattle {
 			playerAttackCount++;
 
 		} else if (choice == 2) {
-			List<Skills> skills = player.getSkills();
+			SkillBook skills = player.getSkills();
 			
 			// Check for narrow passage restriction
 			if (battleEvent != null && battleEvent.isNarrowPassage()) {
-				System.out.println("Only single-target skills can be used here!");
+				out.println("Only single-target skills can be used here!");
 			}
 			
-			for (int i = 0; i < skills.size(); i++) {
-				Skills skill = skills.get(i);
-				if (!skill.isReady()) {
-					System.out.println((i + 1) + ". " + skill.getName() + " (Cooldown: " + skill.currentCooldown() + ")");
-				} else {
-					System.out.println((i + 1) + ". " + skill.getName());
+			if (out.isEnabled()) {
+				for (int i = 0; i < skills.size(); i++) {
+					Skills skill = skills.get(i);
+					if (!skills.isReady(i)) {
+						out.println((i + 1) + ". " + skill.getName() + " (Cooldown: " + skills.cooldown(i) + ")");
+					} else {
+						out.println((i + 1) + ". " + skill.getName());
+					}
 				}
 			}
 
-			int skillChoice = scanner.nextInt() - 1;
+			int skillChoice = decisions.choose(DecisionSource.Choice.SKILL, skills.size()) - 1;
 
 			if (skillChoice >= 0 && skillChoice < skills.size()) {
 				Skills selected = skills.get(skillChoice);
-				if (!selected.isReady()) {
-					System.out.println("That skill is still on cooldown!");
+				if (!skills.isReady(skillChoice)) {
+					out.println("That skill is still on cooldown!");
 					return;
 				} else {
 					// Use skill with modifications
 					player.useSkill(skillChoice, enemy);
 					
 					// Apply lava pool damage if attacking
-					if (selected.getType().contains("attack") || selected.getType().contains("Dmg")) {
+					if (selected.getEffect().isDirectAttack()) {
 						if (battleEvent != null) {
 							battleEvent.applyLavaPoolDamage(player);
 						}
 					}
 
 					// Track RNG actions for Goofy emotion
-					if (selected.getType().contains("Random")) {
+					if (selected.getEffect().isRandom()) {
 						emotionManager.onRNGAction();
 					}
 				}
@@ -260,15 +314,15 @@ public class EmotionBattle {
 
 	private void handleEnemySkipTurn() {
 		if (enemy.isFrozen()) {
-			System.out.println(enemy.name + " is frozen, their turn is skipped");
+			out.detail("{} is frozen, their turn is skipped", enemy.name);
 			enemy.takeDamage(8, null);
 		} else if (enemy.isStunned()) {
-			System.out.println(enemy.name + " is stunned, their turn is skipped");
+			out.detail("{} is stunned, their turn is skipped", enemy.name);
 		}
 	}
 
 	private void handleInvisiblePlayer() {
-		System.out.println(player.name + " is invisible. " + enemy.name + " misses!");
+		out.detail("{} is invisible. {} misses!", player.name, enemy.name);
 	}
 
 	// Better emotion charge tracking logic
@@ -296,7 +350,7 @@ public class EmotionBattle {
 		}
 
 		// Check for debuffs (for Confusion)
-		if (player.attDeBuff > 0 || player.defDeBuff > 0) {
+		if (player.hasStatDebuff()) {
 			emotionManager.onDebuffApplied();
 		}
 		
@@ -306,7 +360,7 @@ public class EmotionBattle {
 			for (EmotionCard e : emotionManager.getActiveEmotions()) {
 				if (e.getChargeTicks() > 0 && e.getChargeTicks() < e.getMaxChargeTicks()) {
 					e.addCharge(1);
-					System.out.println("  -> Crystals amplify " + e.getName() + "!");
+					out.detail("  -> Crystals amplify {}!", e.getName());
 				}
 			}
 		}
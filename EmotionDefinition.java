@@ -0,0 +1,61 @@
+import java.util.*;
+
+// The fixed facts about an emotion: how it charges, how long it lasts and
+// what it does. Immutable and shared by every run and battle; the changing
+// part (charge, cooldown, active turns) is an EmotionCard.
+public final class EmotionDefinition {
+    private static final List<EmotionDefinition> ALL = List.of(
+        new EmotionDefinition("Anger", "Halves all cooldowns for 3 turns",
+            ChargeTrigger.DAMAGE_TAKEN, 5, 4, 3, EmotionEffect.ANGER),
+        new EmotionDefinition("Pride", "Boosts attack damage for 2 turns",
+            ChargeTrigger.DAMAGE_DEALT, 5, 4, 2, EmotionEffect.PRIDE),
+        new EmotionDefinition("Fear", "Slows enemy attacks",
+            ChargeTrigger.BELOW_HALF_HEALTH, 1, 4, 3, EmotionEffect.FEAR),
+        new EmotionDefinition("Joy", "Heal 100% and buff all stats for 3 turns",
+            ChargeTrigger.WIN_BATTLES, 3, 4, 3, EmotionEffect.JOY),
+        new EmotionDefinition("Sadness", "Never miss and land crits for 3 turns",
+            ChargeTrigger.MISS_ATTACK, 5, 4, 3, EmotionEffect.SADNESS),
+        new EmotionDefinition("Confusion", "Convert debuffs to buffs",
+            ChargeTrigger.DEBUFFED, 5, 4, 1, EmotionEffect.CONFUSION),
+        new EmotionDefinition("Ashamed", "Slow enemy cooldowns for 2 turns",
+            ChargeTrigger.LOW_HEALTH_COMBAT, 2, 4, 2, EmotionEffect.ASHAMED),
+        new EmotionDefinition("Bored", "Damage both sides for 50%",
+            ChargeTrigger.FULL_HEALTH, 5, 4, 1, EmotionEffect.BORED),
+        new EmotionDefinition("Goofy", "Give 2 random buffs",
+            ChargeTrigger.RNG_ACTION, 5, 4, 1, EmotionEffect.GOOFY),
+        new EmotionDefinition("Hope", "Survive at 1 HP with massive buffs",
+            ChargeTrigger.LOSING_BADLY, 1, 4, 3, EmotionEffect.HOPE)
+    );
+
+    private final String name;
+    private final String description;
+    private final ChargeTrigger trigger;
+    private final int maxChargeTicks;
+    private final int maxCooldown;
+    private final int effectDuration;
+    private final EmotionEffect effect;
+
+    public EmotionDefinition(String name, String description, ChargeTrigger trigger,
+                             int maxChargeTicks, int maxCooldown, int effectDuration, EmotionEffect effect) {
+        this.name = name;
+        this.description = description;
+        this.trigger = trigger;
+        this.maxChargeTicks = maxChargeTicks;
+        this.maxCooldown = maxCooldown;
+        this.effectDuration = effectDuration;
+        this.effect = effect;
+    }
+
+    // In unlock order
+    public static List<EmotionDefinition> all() {
+        return ALL;
+    }
+
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public ChargeTrigger getTrigger() { return trigger; }
+    public int getMaxChargeTicks() { return maxChargeTicks; }
+    public int getMaxCooldown() { return maxCooldown; }
+    public int getEffectDuration() { return effectDuration; }
+    public EmotionEffect getEffect() { return effect; }
+}
@@ -0,0 +1,86 @@
+// What an emotion does when it activates and when it wears off. One shared
+// constant per emotion; all state lives on the Player, Enemy and EmotionCard,
+// so any number of battles can use the same effect at once.
+public enum EmotionEffect {
+    ANGER {
+        void activate(Player player, Enemy enemy, int duration) {
+            // Halve cooldowns for 3 turns
+            player.halveAllCooldowns();
+        }
+    },
+    PRIDE {
+        void activate(Player player, Enemy enemy, int duration) {
+            // Boost attack damage for 2 turns
+            player.applyBuff("attack", 8, duration);
+        }
+    },
+    FEAR {
+        void activate(Player player, Enemy enemy, int duration) {
+            // Slow enemy attacks
+            enemy.increaseAllSkillCooldowns(2);
+            enemy.applyDeBuff("attack", 5, duration);
+        }
+    },
+    JOY {
+        void activate(Player player, Enemy enemy, int duration) {
+            // Heal 100% and buff all stats
+            player.heal(player.maxHealth);
+            player.applyBuff("both", 6, duration);
+        }
+    },
+    SADNESS {
+        void activate(Player player, Enemy enemy, int duration) {
+            // Never miss and land crits
+            player.setCritChance(1.0, duration);
+            player.setNeverMiss(true, duration);
+        }
+
+        void deactivate(Player player) {
+            player.setNeverMiss(false, 0);
+        }
+    },
+    CONFUSION {
+        void activate(Player player, Enemy enemy, int duration) {
+            // Convert all debuffs to buffs
+            player.convertDebuffsToBuffs();
+        }
+    },
+    ASHAMED {
+        void activate(Player player, Enemy enemy, int duration) {
+            // Slow everyone's cooldowns except player
+            enemy.increaseAllSkillCooldowns(3);
+        }
+    },
+    BORED {
+        void activate(Player player, Enemy enemy, int duration) {
+            // Damage both sides for 50%
+            int playerDmg = player.maxHealth / 2;
+            int enemyDmg = enemy.maxHealth / 2;
+            player.takeDamage(playerDmg, null);
+            enemy.takeDamage(enemyDmg, null);
+        }
+    },
+    GOOFY {
+        void activate(Player player, Enemy enemy, int duration) {
+            // Give 2 random buffs
+            player.applyRandomBuffs(2);
+        }
+    },
+    HOPE {
+        void activate(Player player, Enemy enemy, int duration) {
+            // Survive at 1 HP with buffs
+            player.setHopeMode(true, duration);
+            player.applyBuff("both", 10, duration);
+        }
+
+        void deactivate(Player player) {
+            player.setHopeMode(false, 0);
+        }
+    };
+
+    abstract void activate(Player player, Enemy enemy, int duration);
+
+    // Undo anything that does not expire on its own
+    void deactivate(Player player) {
+    }
+}
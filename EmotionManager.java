@@ -1,9 +1,18 @@
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 public class EmotionManager {
     private List<EmotionCard> allEmotions;
     private List<EmotionCard> activeEmotions;
     private Player player;
+    private OutputSink out;
+    
+    // One bit per card in allEmotions; the only record of what is unlocked
+    private int unlockedMask = 0;
+    
+    // Active cards grouped by what charges them, indexed by ChargeTrigger ordinal
+    private final EmotionCard[][] listeners;
+    private final int[] listenerCount = new int[ChargeTrigger.COUNT];
     
     // Tracking for charge conditions
     private int consecutiveTurnsDamageDealt = 0;  // NEW: For Pride
@@ -13,103 +22,138 @@ public class EmotionManager {
         this.player = player;
         this.allEmotions = EmotionCard.createAllEmotions();
         this.activeEmotions = new ArrayList<>();
+        this.listeners = new EmotionCard[ChargeTrigger.COUNT][allEmotions.size()];
+        setOutput(player.getOutput());
         
         // CHANGED: Start with 0 emotions - must unlock them all
         // Player begins completely emotionless
     }
     
+    // Back to a new player's state: everything locked, nothing equipped
+    public void reset() {
+        for (EmotionCard e : allEmotions) {
+            e.reset();
+        }
+        activeEmotions.clear();
+        subscribeActive();
+        unlockedMask = 0;
+        consecutiveTurnsDamageDealt = 0;
+        consecutiveBattlesWon = 0;
+    }
+    
+    public void setOutput(OutputSink out) {
+        this.out = out;
+        for (EmotionCard e : allEmotions) {
+            e.setOutput(out);
+        }
+    }
+    
+    // Cards report charge and activation events under their index in getAllEmotions()
+    public void setBattleLog(BattleLog log) {
+        for (int i = 0; i < allEmotions.size(); i++) {
+            allEmotions.get(i).setBattleLog(log, i);
+        }
+    }
+    
     // Getters
     public List<EmotionCard> getAllEmotions() { return allEmotions; }
     public List<EmotionCard> getActiveEmotions() { return activeEmotions; }
     public List<EmotionCard> getUnlockedEmotions() {
-        List<EmotionCard> unlocked = new ArrayList<>();
-        for (EmotionCard e : allEmotions) {
-            if (e.isUnlocked()) unlocked.add(e);
+        List<EmotionCard> unlocked = new ArrayList<>(getUnlockedCount());
+        for (int i = 0; i < allEmotions.size(); i++) {
+            if (isUnlocked(i)) unlocked.add(allEmotions.get(i));
         }
         return unlocked;
     }
     
+    // index is the card's position in getAllEmotions()
+    public boolean isUnlocked(int index) {
+        return (unlockedMask & (1 << index)) != 0;
+    }
+    
     public int getUnlockedCount() {
-        return getUnlockedEmotions().size();
+        return Integer.bitCount(unlockedMask);
     }
     
     // Unlock system
     public void unlockNextEmotion() {
-        for (EmotionCard e : allEmotions) {
-            if (!e.isUnlocked()) {
-                e.setUnlocked(true);
-                System.out.println("\n*** NEW EMOTION UNLOCKED: " + e.getName() + " ***");
-                System.out.println(e.getDescription());
-                System.out.println("Charges: " + e.getChargeType());
+        for (int i = 0; i < allEmotions.size(); i++) {
+            EmotionCard e = allEmotions.get(i);
+            if (!isUnlocked(i)) {
+                unlockedMask |= 1 << i;
+                out.println("\n*** NEW EMOTION UNLOCKED: " + e.getName() + " ***");
+                out.println(e.getDescription());
+                out.println("Charges: " + e.getChargeType());
                 return;
             }
         }
-        System.out.println("All emotions already unlocked!");
+        out.println("All emotions already unlocked!");
     }
     
     public boolean hasLockedEmotions() {
-        for (EmotionCard e : allEmotions) {
-            if (!e.isUnlocked()) return true;
-        }
-        return false;
+        return getUnlockedCount() < allEmotions.size();
     }
     
     // Pre-battle emotion selection
-    public void selectEmotionsForBattle(Scanner scanner) {
+    public void selectEmotionsForBattle(DecisionSource decisions, RandomGenerator rand) {
         activeEmotions.clear();
+        subscribeActive();
         List<EmotionCard> unlocked = getUnlockedEmotions();
         
         if (unlocked.isEmpty()) {
-            System.out.println("No emotions unlocked yet!");
+            out.println("No emotions unlocked yet!");
             return;
         }
         
         if (unlocked.size() <= 3) {
             activeEmotions.addAll(unlocked);
-            System.out.println("Equipped all unlocked emotions for battle!");
+            subscribeActive();
+            out.println("Equipped all unlocked emotions for battle!");
             return;
         }
         
-        System.out.println("\n=== SELECT EMOTIONS FOR BATTLE ===");
-        System.out.println("Choose 2 emotions (you'll get 1 random as well):");
-        
-        for (int i = 0; i < unlocked.size(); i++) {
-            EmotionCard e = unlocked.get(i);
-            System.out.println((i + 1) + ". " + e.getName() + " - " + e.getDescription());
+        if (out.isEnabled()) {
+            out.println("\n=== SELECT EMOTIONS FOR BATTLE ===");
+            out.println("Choose 2 emotions (you'll get 1 random as well):");
+            
+            for (int i = 0; i < unlocked.size(); i++) {
+                EmotionCard e = unlocked.get(i);
+                out.println((i + 1) + ". " + e.getName() + " - " + e.getDescription());
+            }
         }
         
-        System.out.print("\nFirst emotion choice: ");
-        int choice1 = scanner.nextInt() - 1;
+        out.print("\nFirst emotion choice: ");
+        int choice1 = decisions.choose(DecisionSource.Choice.EMOTION, unlocked.size()) - 1;
         if (choice1 >= 0 && choice1 < unlocked.size()) {
             activeEmotions.add(unlocked.get(choice1));
         }
         
-        System.out.print("Second emotion choice: ");
-        int choice2 = scanner.nextInt() - 1;
+        out.print("Second emotion choice: ");
+        int choice2 = decisions.choose(DecisionSource.Choice.EMOTION, unlocked.size()) - 1;
         if (choice2 >= 0 && choice2 < unlocked.size() && choice2 != choice1) {
             activeEmotions.add(unlocked.get(choice2));
         }
         
         // Add random third
-        Random rand = new Random();
         EmotionCard random;
         do {
             random = unlocked.get(rand.nextInt(unlocked.size()));
         } while (activeEmotions.contains(random));
         
         activeEmotions.add(random);
-        System.out.println("Random emotion: " + random.getName());
-        System.out.println("\nEmotions equipped for battle!");
+        subscribeActive();
+        out.println("Random emotion: " + random.getName());
+        out.println("\nEmotions equipped for battle!");
     }
     
     // FIXED: Improved charge tracking
     public void onDamageTaken(int damage) {
         consecutiveTurnsDamageDealt = 0;  // Reset Pride counter
-        chargeEmotion("damage_taken", 1);
+        charge(ChargeTrigger.DAMAGE_TAKEN, 1);
         
         // Check if below half health
         if (player.health <= player.maxHealth / 2) {
-            chargeEmotion("below_half_health", 1);
+            charge(ChargeTrigger.BELOW_HALF_HEALTH, 1);
         }
     }
     
@@ -117,30 +161,30 @@ public class EmotionManager {
     public void onDamageDealt() {
         consecutiveTurnsDamageDealt++;
         if (consecutiveTurnsDamageDealt >= 2) {
-            chargeEmotion("damage_dealt", 1);
+            charge(ChargeTrigger.DAMAGE_DEALT, 1);
         }
     }
     
     // REMOVED: onNoDamageTaken (Pride no longer uses this)
     
     public void onMissedAttack() {
-        chargeEmotion("miss_attack", 1);
+        charge(ChargeTrigger.MISS_ATTACK, 1);
     }
     
     public void onDebuffApplied() {
-        chargeEmotion("debuffed", 1);
+        charge(ChargeTrigger.DEBUFFED, 1);
     }
     
     // REMOVED: onNoDamageDealt (Ashamed no longer uses this)
     
     public void onRNGAction() {
-        chargeEmotion("rng_action", 1);
+        charge(ChargeTrigger.RNG_ACTION, 1);
     }
     
     public void onBattleWon() {
         consecutiveBattlesWon++;
         if (consecutiveBattlesWon >= 3) {
-            chargeEmotion("win_battles", 1);
+            charge(ChargeTrigger.WIN_BATTLES, 1);
             consecutiveBattlesWon = 0;
         }
     }
@@ -148,14 +192,14 @@ public class EmotionManager {
     // NEW: Charge Ashamed when fighting at low health
     public void checkLowHealthCombat() {
         if (player.health <= player.maxHealth / 3) {
-            chargeEmotion("low_health_combat", 1);
+            charge(ChargeTrigger.LOW_HEALTH_COMBAT, 1);
         }
     }
     
     // NEW: Charge Bored when at full health
     public void checkFullHealth() {
         if (player.health >= player.maxHealth) {
-            chargeEmotion("full_health", 1);
+            charge(ChargeTrigger.FULL_HEALTH, 1);
         }
     }
     
@@ -166,15 +210,24 @@ public class EmotionManager {
         double enemyPercent = (double)enemyHP / enemyMaxHP;
         
         if (playerPercent < 0.25 && enemyPercent > 0.70) {
-            chargeEmotion("losing_badly", 1);
+            charge(ChargeTrigger.LOSING_BADLY, 1);
+        }
+    }
+    
+    // Charges every active card listening for this trigger
+    public void charge(ChargeTrigger trigger, int amount) {
+        EmotionCard[] cards = listeners[trigger.ordinal()];
+        for (int i = 0, n = listenerCount[trigger.ordinal()]; i < n; i++) {
+            cards[i].addCharge(amount);
         }
     }
     
-    private void chargeEmotion(String chargeType, int amount) {
+    // Rebuilds the per-trigger lists after the active set changes
+    private void subscribeActive() {
+        Arrays.fill(listenerCount, 0);
         for (EmotionCard e : activeEmotions) {
-            if (e.getChargeType().equals(chargeType)) {
-                e.addCharge(amount);
-            }
+            int t = e.getTrigger().ordinal();
+            listeners[t][listenerCount[t]++] = e;
         }
     }
     
@@ -196,13 +249,13 @@ public class EmotionManager {
     
     // Display status
     public void displayEmotionStatus() {
-        if (activeEmotions.isEmpty()) return;
+        if (activeEmotions.isEmpty() || !out.isEnabled()) return;
         
-        System.out.print("Emotions: ");
+        out.print("Emotions: ");
         for (EmotionCard e : activeEmotions) {
             e.displayStatus();
         }
-        System.out.println();
+        out.println();
     }
     
     // Reset cooldowns
@@ -217,7 +270,7 @@ public class EmotionManager {
         for (EmotionCard e : allEmotions) {
             if (e.getName().equalsIgnoreCase(emotionName)) {
                 e.setMaxChargeTicks(Math.max(1, e.getMaxChargeTicks() - 1));
-                System.out.println(emotionName + " now charges faster!");
+                out.println(emotionName + " now charges faster!");
                 return;
             }
         }
@@ -0,0 +1,126 @@
+import java.util.*;
+
+// Every enemy template, built once. Enemies are identified by their index in
+// the registry; spawning one is a copy of the prototype with its stats read
+// from a per-level scaling table. Spawned enemies share the prototype's skill
+// definitions and only get their own cooldown and power slots.
+public final class EnemyRegistry {
+    // Player levels covered by the precomputed table; higher levels are scaled on demand
+    public static final int MAX_TABLE_LEVEL = 50;
+
+    private static final EnemyRegistry INSTANCE = new EnemyRegistry();
+
+    private final Enemy[] prototypes;
+    private final List<List<Skills>> skillLists;
+    private final Map<String, Integer> idsByName;
+    private final int[] scaledHp;
+    private final int[] scaledAtk;
+    private final int[] scaledDef;
+    private final List<String> problems;
+
+    private EnemyRegistry() {
+        List<Enemy> all = new ArrayList<>();
+        List<List<Skills>> lists = new ArrayList<>();
+        for (ContentPack.EnemyDef def : ContentPack.get().getEnemies()) {
+            if (def.spawnable) {
+                all.add(new Enemy(def.name, def.level, def.hp, def.attack, def.defense, def.xpReward, def.skills));
+                lists.add(def.skills);
+            }
+        }
+        prototypes = all.toArray(new Enemy[0]);
+        skillLists = List.copyOf(lists);
+
+        Map<String, Integer> ids = new HashMap<>();
+        for (int id = 0; id < prototypes.length; id++) {
+            ids.put(prototypes[id].getName(), id);
+        }
+        idsByName = Collections.unmodifiableMap(ids);
+
+        int stride = MAX_TABLE_LEVEL + 1;
+        scaledHp = new int[prototypes.length * stride];
+        scaledAtk = new int[prototypes.length * stride];
+        scaledDef = new int[prototypes.length * stride];
+        for (int id = 0; id < prototypes.length; id++) {
+            for (int level = 0; level <= MAX_TABLE_LEVEL; level++) {
+                scaledHp[id * stride + level] = hpFor(prototypes[id], level);
+                scaledAtk[id * stride + level] = atkFor(prototypes[id], level);
+                scaledDef[id * stride + level] = defFor(prototypes[id], level);
+            }
+        }
+
+        problems = Collections.unmodifiableList(findProblems());
+    }
+
+    public static EnemyRegistry get() {
+        return INSTANCE;
+    }
+
+    public int size() {
+        return prototypes.length;
+    }
+
+    // -1 if no template has this name
+    public int idOf(String name) {
+        Integer id = idsByName.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public Enemy getTemplate(int id) {
+        return prototypes[id];
+    }
+
+    // Unknown names fall back to the first template (Goblin), as generateEnemy always did
+    public Enemy spawn(String name, int playerLevel) {
+        int id = idOf(name);
+        return spawn(id < 0 ? 0 : id, playerLevel);
+    }
+
+    public Enemy spawn(int id, int playerLevel) {
+        return spawnInto(null, id, playerLevel);
+    }
+
+    // Scale enemy stats based on player level (percentage-based HP). A pooled
+    // enemy is reset in place; null allocates a new one.
+    public Enemy spawnInto(Enemy enemy, int id, int playerLevel) {
+        Enemy proto = prototypes[id];
+        int hp, atk, def;
+        if (playerLevel >= 0 && playerLevel <= MAX_TABLE_LEVEL) {
+            int slot = id * (MAX_TABLE_LEVEL + 1) + playerLevel;
+            hp = scaledHp[slot];
+            atk = scaledAtk[slot];
+            def = scaledDef[slot];
+        } else {
+            hp = hpFor(proto, playerLevel);
+            atk = atkFor(proto, playerLevel);
+            def = defFor(proto, playerLevel);
+        }
+
+        if (enemy == null) {
+            return new Enemy(proto.getName(), proto.getLevel(), hp, atk, def, proto.getXpReward(), skillLists.get(id));
+        }
+        enemy.reset(proto.getName(), proto.getLevel(), hp, atk, def, proto.getXpReward(), skillLists.get(id));
+        return enemy;
+    }
+
+    private static int hpFor(Enemy proto, int playerLevel) {
+        return (int)(proto.maxHealth * (1 + playerLevel * 0.12));
+    }
+
+    private static int atkFor(Enemy proto, int playerLevel) {
+        return proto.attack + playerLevel;
+    }
+
+    private static int defFor(Enemy proto, int playerLevel) {
+        return proto.defense + (playerLevel / 2);
+    }
+
+    // Content pack warnings, e.g. enemies with skills but no stats. Biomes
+    // naming unknown enemies are rejected when the pack loads.
+    public List<String> getProblems() {
+        return problems;
+    }
+
+    private List<String> findProblems() {
+        return new ArrayList<>(ContentPack.get().getProblems());
+    }
+}
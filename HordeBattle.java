@@ -0,0 +1,428 @@
+import java.util.*;
+
+// A battle between the player (plus any allies) and several enemies.
+//
+// Instead of EmotionBattle's fixed player/enemy alternation, turns come from
+// an Initiative queue: every combatant acts on its own interval. Each side
+// keeps its living count, HP total and a compact list of who is alive,
+// updated as health changes, so picking the next actor costs O(log n) and
+// the bookkeeping of a turn does not grow with the number fighting. Only
+// what has to touch everyone does: the stats display, the player's target
+// menu, and skills that hit all.
+//
+// Allies are Enemy objects run by the same AI as enemies. Skills that target
+// all opponents hit the whole other side, one cast applied to each living
+// member in turn.
+//
+// Slots: 0 is the player, then allies, then enemies. They double as the
+// combatant ids in the BattleLog.
+public class HordeBattle {
+	private static final String RULE = "=".repeat(50);
+
+	// Ticks between a combatant's turns, rolled per combatant at the start;
+	// there is no speed stat, so this is what varies the turn order
+	private static final int MIN_INTERVAL = 80;
+	private static final int INTERVAL_SPREAD = 41;
+
+	private final Player player;
+	private final List<Enemy> allies;
+	private final List<Enemy> enemies;
+	private final Side playerSide;
+	private final Side enemySide;
+	private final Character[] combatants;
+	private final int[] interval;
+	private final int firstEnemy;
+	private final Initiative initiative;
+	private final EmotionManager emotionManager;
+	private final BattleEvent battleEvent;
+	private final DecisionSource decisions;
+	private final OutputSink out;
+	private BattleLog log;
+	private int turn = 0;
+
+	// The enemy the player last went for; emotions land on it
+	private Enemy focus;
+	// Living enemies as offered in the target menu
+	private final int[] targetSlots;
+
+	// Tracking for emotion charges, from one player turn to the next
+	private int playerHealthAtLastTurn = 0;
+	private int playerDamageDealtThisTurn = 0;
+
+	public HordeBattle(Player player, List<Enemy> allies, List<Enemy> enemies, EmotionManager emotionManager,
+	                   BattleEvent battleEvent, DecisionSource decisions) {
+		if (enemies.isEmpty()) {
+			throw new IllegalArgumentException("A horde battle needs at least one enemy");
+		}
+		this.player = player;
+		this.allies = List.copyOf(allies);
+		this.enemies = List.copyOf(enemies);
+		this.emotionManager = emotionManager;
+		this.battleEvent = battleEvent;
+		this.decisions = decisions;
+		this.out = player.getOutput();
+
+		List<Character> friends = new ArrayList<>();
+		friends.add(player);
+		friends.addAll(this.allies);
+		firstEnemy = friends.size();
+		combatants = new Character[firstEnemy + this.enemies.size()];
+		for (int i = 0; i < firstEnemy; i++) combatants[i] = friends.get(i);
+		for (int i = 0; i < this.enemies.size(); i++) combatants[firstEnemy + i] = this.enemies.get(i);
+		if (combatants.length > Initiative.MAX_COMBATANTS) {
+			throw new IllegalArgumentException("Too many combatants: " + combatants.length);
+		}
+		playerSide = new Side(friends, 0);
+		enemySide = new Side(this.enemies, firstEnemy);
+		interval = new int[combatants.length];
+		initiative = new Initiative(combatants.length);
+		targetSlots = new int[this.enemies.size()];
+	}
+
+	// Lets a caller that runs many battles reuse one log; it is cleared on
+	// start(), which makes its own if none was set
+	public void setLog(BattleLog log) {
+		this.log = log;
+	}
+
+	public BattleLog getLog() {
+		return log;
+	}
+
+	public boolean start() {
+		out.println("\n--- A horde appears! ---");
+		for (Enemy e : enemies) out.println("  " + e.getName());
+
+		if (log == null) log = new BattleLog(BattleLog.DEFAULT_CAPACITY);
+		log.clear();
+		emotionManager.setBattleLog(log);
+		initiative.clear();
+		playerSide.count();
+		enemySide.count();
+		for (int slot = 0; slot < combatants.length; slot++) {
+			Character c = combatants[slot];
+			c.resetAllCooldowns();
+			c.setBattleLog(log, slot);
+			c.setHealthWatcher(slot < firstEnemy ? playerSide : enemySide);
+			interval[slot] = MIN_INTERVAL + c.getRandom().nextInt(INTERVAL_SPREAD);
+			initiative.schedule(slot, interval[slot]);
+		}
+		focus = enemies.get(0);
+		playerHealthAtLastTurn = player.health;
+
+		while (player.isAlive() && enemySide.living > 0 && !initiative.isEmpty()) {
+			long now = initiative.peekTime();
+			int slot = initiative.next();
+			Character actor = combatants[slot];
+			// The dead drop out of the queue here, when their turn comes up
+			if (!actor.isAlive()) continue;
+
+			if (slot == 0) {
+				playerTurn();
+			} else if (slot < firstEnemy) {
+				aiTurn(actor, enemySide);
+			} else {
+				aiTurn(actor, playerSide);
+			}
+
+			if (actor.isAlive()) initiative.schedule(slot, now + interval[slot]);
+		}
+
+		// End of battle
+		for (Character c : combatants) {
+			c.setBattleLog(null, BattleLog.NONE);
+			c.setHealthWatcher(null);
+		}
+		emotionManager.setBattleLog(null);
+
+		if (player.isAlive()) {
+			out.println("\n*** VICTORY! ***");
+			out.println("You defeated the horde!");
+			return true;
+		} else {
+			out.println("\n*** DEFEAT ***");
+			out.println("You were overwhelmed by the horde...");
+			return false;
+		}
+	}
+
+	// Player turns; the log's turn counter follows them
+	public int getTurns() {
+		return turn;
+	}
+
+	public int getXPReward() {
+		int xp = 0;
+		for (Enemy e : enemies) xp += e.getXpReward();
+		return xp;
+	}
+
+	// ====== Player ======
+	private void playerTurn() {
+		turn++;
+		log.startTurn(turn);
+		playerDamageDealtThisTurn = 0;
+
+		player.updateBuffs();
+		player.reduceCooldowns();
+		if (!player.isAlive()) return;
+
+		if (!focus.isAlive()) focus = (Enemy) enemySide.anyLiving();
+		player.applyRegen();
+		player.applyPassiveStart(focus);
+		emotionManager.updateEmotions();
+
+		if (out.isEnabled()) {
+			out.println("\n" + RULE);
+			out.println("Turn " + turn);
+			out.println(RULE);
+			player.displayStats();
+			emotionManager.displayEmotionStatus();
+			for (Character c : combatants) {
+				if (c != player && c.isAlive()) {
+					out.println();
+					c.displayStats();
+				}
+			}
+		}
+
+		player.applyStatus();
+		player.cleanupStatuses();
+		if (!player.isAlive()) return;
+
+		if (player.isFrozen() || player.isStunned()) {
+			handleSkipTurn(player);
+		} else {
+			handlePlayerAction();
+		}
+
+		if (player.hasExtraTurn() && enemySide.living > 0) {
+			out.println("\n" + player.getName() + " gets an extra turn!");
+			handlePlayerAction();
+			player.setExtraTurn(false);
+		}
+
+		trackEmotionCharges();
+		Enemy target = focus.isAlive() ? focus : (Enemy) enemySide.anyLiving();
+		if (target != null) emotionManager.checkAndActivateEmotions(target);
+	}
+
+	private void handlePlayerAction() {
+		if (out.isEnabled()) {
+			out.println("\nChoose an action:");
+			out.println("1. Normal Attack");
+			out.println("2. Use Skill");
+		}
+
+		int choice = decisions.choose(DecisionSource.Choice.ACTION, 2);
+		out.println();
+
+		int healthBefore = enemySide.health;
+
+		if (choice == 1) {
+			Enemy target = chooseTarget();
+			if (target.isInvisible()) {
+				out.detail("{} is invisible. {} misses!", target.name, player.name);
+				emotionManager.onMissedAttack();
+			} else {
+				target.takeDamage(player.getRanDmg(0, player), player);
+			}
+		} else if (choice == 2) {
+			SkillBook skills = player.getSkills();
+			boolean narrow = battleEvent != null && battleEvent.isNarrowPassage();
+			if (narrow) {
+				out.println("Only single-target skills can be used here!");
+			}
+
+			if (out.isEnabled()) {
+				for (int i = 0; i < skills.size(); i++) {
+					Skills skill = skills.get(i);
+					String area = skill.getTargeting() == Targeting.ALL ? " [all]" : "";
+					if (!skills.isReady(i)) {
+						out.println((i + 1) + ". " + skill.getName() + area + " (Cooldown: " + skills.cooldown(i) + ")");
+					} else {
+						out.println((i + 1) + ". " + skill.getName() + area);
+					}
+				}
+			}
+
+			int skillChoice = decisions.choose(DecisionSource.Choice.SKILL, skills.size()) - 1;
+			if (skillChoice >= 0 && skillChoice < skills.size()) {
+				Skills selected = skills.get(skillChoice);
+				if (!skills.isReady(skillChoice)) {
+					out.println("That skill is still on cooldown!");
+					return;
+				}
+				boolean hitsAll = selected.getTargeting() == Targeting.ALL && !narrow;
+				Enemy target = hitsAll ? (Enemy) enemySide.anyLiving() : chooseTarget();
+				if (!hitsAll && target.isInvisible()) {
+					out.detail("{} is invisible. {} misses!", target.name, player.name);
+					emotionManager.onMissedAttack();
+				} else {
+					player.useSkill(skillChoice, target, hitsAll ? enemies : null);
+				}
+
+				if (selected.getEffect().isRandom()) {
+					emotionManager.onRNGAction();
+				}
+			}
+		}
+
+		playerDamageDealtThisTurn += Math.max(0, healthBefore - enemySide.health);
+	}
+
+	// Asks only when there is a choice to make
+	private Enemy chooseTarget() {
+		int count = 0;
+		for (int i = 0; i < enemies.size(); i++) {
+			if (enemies.get(i).isAlive()) targetSlots[count++] = i;
+		}
+		if (count == 1) {
+			focus = enemies.get(targetSlots[0]);
+			return focus;
+		}
+		if (out.isEnabled()) {
+			out.println("Choose a target:");
+			for (int i = 0; i < count; i++) {
+				Enemy e = enemies.get(targetSlots[i]);
+				out.println((i + 1) + ". " + e.getName() + " (" + e.health + "/" + e.maxHealth + " HP)");
+			}
+		}
+		int pick = decisions.choose(DecisionSource.Choice.TARGET, count) - 1;
+		if (pick < 0 || pick >= count) pick = 0;
+		focus = enemies.get(targetSlots[pick]);
+		return focus;
+	}
+
+	private void trackEmotionCharges() {
+		int damageTaken = playerHealthAtLastTurn - player.health;
+		if (damageTaken > 0) {
+			emotionManager.onDamageTaken(damageTaken);
+		}
+		playerHealthAtLastTurn = player.health;
+
+		if (playerDamageDealtThisTurn > 0) {
+			emotionManager.onDamageDealt();
+		}
+
+		emotionManager.checkLowHealthCombat();
+		emotionManager.checkFullHealth();
+
+		// Losing badly is judged against the whole horde
+		if (player.isAlive() && enemySide.living > 0) {
+			emotionManager.checkLosingBadly(player.health, player.maxHealth, enemySide.health, enemySide.maxHealth);
+		}
+
+		if (player.hasStatDebuff()) {
+			emotionManager.onDebuffApplied();
+		}
+	}
+
+	// ====== Allies & Enemies ======
+	// opponents is the other side; skills that target all hit every living member
+	private void aiTurn(Character actor, Side opponents) {
+		Enemy self = (Enemy) actor;
+		self.updateBuffs();
+		self.reduceCooldowns();
+		if (!self.isAlive()) return;
+
+		self.applyStatus();
+		self.cleanupStatuses();
+		if (!self.isAlive()) return;
+
+		if (self.isFrozen() || self.isStunned()) {
+			handleSkipTurn(self);
+			return;
+		}
+
+		Character target = opponents.randomLiving(self.getRandom());
+		if (target == null) return;
+		if (target.isInvisible()) {
+			out.detail("{} is invisible. {} misses!", target.name, self.name);
+			return;
+		}
+		boolean narrow = battleEvent != null && battleEvent.isNarrowPassage();
+		self.useSkill(target, narrow ? null : opponents.members);
+	}
+
+	private void handleSkipTurn(Character c) {
+		if (c.isFrozen()) {
+			out.detail("{} is frozen, their turn is skipped", c.name);
+			c.takeDamage(8, null);
+		} else if (c.isStunned()) {
+			out.detail("{} is stunned, their turn is skipped", c.name);
+		}
+	}
+
+	// ====== Sides ======
+	// One side's members and running totals. Members are watched while the
+	// battle runs, so the totals follow every change to their health and the
+	// living are kept packed at the front of an index array: a death swaps
+	// the last living index into the dead one's place.
+	private static final class Side implements Character.HealthWatcher {
+		final List<? extends Character> members;
+		// Slot of members.get(0); slots are the combatant ids
+		final int firstSlot;
+		// Member indexes, the living first
+		final int[] order;
+		// Where each member is in order
+		final int[] position;
+		int living;
+		int health;
+		int maxHealth;
+
+		Side(List<? extends Character> members, int firstSlot) {
+			this.members = members;
+			this.firstSlot = firstSlot;
+			order = new int[members.size()];
+			position = new int[members.size()];
+		}
+
+		// Sets the totals from scratch at the start of a battle
+		void count() {
+			living = 0;
+			health = 0;
+			maxHealth = 0;
+			int dead = members.size();
+			for (int i = 0; i < members.size(); i++) {
+				Character c = members.get(i);
+				maxHealth += c.maxHealth;
+				if (c.isAlive()) {
+					health += c.health;
+					place(i, living++);
+				} else {
+					place(i, --dead);
+				}
+			}
+		}
+
+		public void healthChanged(int combatantId, int before, int after) {
+			int i = combatantId - firstSlot;
+			health += Math.max(0, after) - Math.max(0, before);
+			if (before > 0 && after <= 0) {
+				swap(position[i], --living);
+			} else if (before <= 0 && after > 0) {
+				swap(position[i], living++);
+			}
+		}
+
+		Character anyLiving() {
+			return living == 0 ? null : members.get(order[0]);
+		}
+
+		Character randomLiving(SplittableRandom ran) {
+			return living == 0 ? null : members.get(order[ran.nextInt(living)]);
+		}
+
+		private void swap(int a, int b) {
+			int first = order[a];
+			place(order[b], a);
+			place(first, b);
+		}
+
+		private void place(int member, int at) {
+			order[at] = member;
+			position[member] = at;
+		}
+	}
+}
@@ -0,0 +1,71 @@
+import java.util.*;
+
+// Turn order for battles with more than two combatants.
+//
+// Each combatant acts every interval ticks; the next to act is the one with
+// the earliest due time, ties going to the lower slot. Entries are packed as
+// (due << 16) | slot in a binary min-heap of longs, so taking a turn is
+// O(log n) and nothing is allocated while the battle runs. Combatants that
+// die are not removed: the caller simply does not reschedule them.
+public final class Initiative {
+    public static final int MAX_COMBATANTS = 1 << 16;
+
+    private long[] heap;
+    private int size = 0;
+
+    public Initiative(int capacity) {
+        heap = new long[Math.max(1, capacity)];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // slot acts at tick due
+    public void schedule(int slot, long due) {
+        if (slot < 0 || slot >= MAX_COMBATANTS) {
+            throw new IllegalArgumentException("Slot out of range: " + slot);
+        }
+        if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+        long key = (due << 16) | slot;
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= key) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = key;
+    }
+
+    // Tick of the next turn; the queue must not be empty
+    public long peekTime() {
+        return heap[0] >>> 16;
+    }
+
+    // Removes the next turn and returns whose it is
+    public int next() {
+        if (size == 0) throw new NoSuchElementException("No combatant scheduled");
+        long top = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return (int) (top & 0xffff);
+    }
+}
@@ -0,0 +1,180 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// The one reader of standard input. Every keyboard read in the game goes
+// through console(); wrapping System.in in more than one Scanner let their
+// buffers race and swallow each other's input.
+//
+// A pump thread reads the channel in large chunks into a reused buffer,
+// decodes it, and queues complete lines; callers take lines, or int tokens
+// out of them, from the queue. Piped input is read ahead at channel speed and
+// nothing is dropped or read twice, whichever thread asks for it.
+public final class InputService {
+    private static final int BUFFER_SIZE = 8192;
+    // Queued after the last line once the input is exhausted
+    private static final String END = new String("<end of input>");
+
+    private static final class Holder {
+        static final InputService CONSOLE = new InputService(Channels.newChannel(System.in), Charset.defaultCharset());
+    }
+
+    private final ReadableByteChannel channel;
+    private final CharsetDecoder decoder;
+    private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+    private volatile Runnable beforeRead = () -> { };
+    private boolean started = false;
+    private boolean ended = false;
+
+    // What is left of the line nextInt() is reading tokens from
+    private String current = null;
+    private int pos = 0;
+
+    public InputService(ReadableByteChannel channel, Charset charset) {
+        this.channel = channel;
+        this.decoder = charset.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    public static InputService console() {
+        return Holder.CONSOLE;
+    }
+
+    // Runs on the reading thread before it waits for input, e.g. to flush
+    // buffered output so the prompt is on screen
+    public void onBeforeRead(Runnable hook) {
+        this.beforeRead = hook;
+    }
+
+    // The rest of the current line, or the next whole line; like Scanner,
+    // after nextInt() this returns what followed the number
+    public synchronized String nextLine() {
+        if (current != null) {
+            String rest = current.substring(pos);
+            current = null;
+            return rest;
+        }
+        return take();
+    }
+
+    // Like nextLine(), but gives up after the timeout and returns null. A line
+    // that arrives later is left for the next read, so a timed-out prompt
+    // never eats input meant for whatever asks next. The caller's own thread
+    // does the waiting; no thread is started or left behind. Whitespace left
+    // on the line after nextInt() does not count as an answer.
+    public synchronized String pollLine(long timeout, TimeUnit unit) {
+        if (current != null) {
+            String rest = current.substring(pos);
+            current = null;
+            if (!rest.isBlank()) return rest;
+        }
+        if (ended) throw new NoSuchElementException("No more input");
+        start();
+        beforeRead.run();
+        String line;
+        try {
+            line = lines.poll(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (line == END) {
+            ended = true;
+            throw new NoSuchElementException("No more input");
+        }
+        return line;
+    }
+
+    // Next integer token, across lines. Tokens that are not numbers are skipped.
+    public synchronized int nextInt() {
+        while (true) {
+            if (current == null) {
+                current = take();
+                pos = 0;
+            }
+            int length = current.length();
+            while (pos < length && java.lang.Character.isWhitespace(current.charAt(pos))) pos++;
+            if (pos == length) {
+                current = null;
+                continue;
+            }
+            int start = pos;
+            while (pos < length && !java.lang.Character.isWhitespace(current.charAt(pos))) pos++;
+            try {
+                return Integer.parseInt(current, start, pos, 10);
+            } catch (NumberFormatException e) {
+                // Not a number; keep looking
+            }
+        }
+    }
+
+    private String take() {
+        if (ended) throw new NoSuchElementException("No more input");
+        start();
+        beforeRead.run();
+        String line;
+        try {
+            line = lines.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NoSuchElementException("Interrupted while waiting for input");
+        }
+        if (line == END) {
+            ended = true;
+            throw new NoSuchElementException("No more input");
+        }
+        return line;
+    }
+
+    // The pump starts on the first read, so nothing touches stdin until the game asks
+    private void start() {
+        if (started) return;
+        started = true;
+        Thread pump = new Thread(this::pump, "console-input");
+        pump.setDaemon(true);
+        pump.start();
+    }
+
+    private void pump() {
+        ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        StringBuilder line = new StringBuilder(128);
+        try {
+            while (channel.read(bytes) >= 0) {
+                bytes.flip();
+                decoder.decode(bytes, chars, false);
+                bytes.compact();
+                split(chars, line);
+            }
+            bytes.flip();
+            decoder.decode(bytes, chars, true);
+            decoder.flush(chars);
+            split(chars, line);
+        } catch (IOException e) {
+            // Treated as the end of input
+        }
+        if (line.length() > 0) lines.add(line.toString());
+        lines.add(END);
+    }
+
+    // Moves complete lines from chars into the queue; a partial line stays in line
+    private void split(CharBuffer chars, StringBuilder line) {
+        chars.flip();
+        while (chars.hasRemaining()) {
+            char c = chars.get();
+            if (c == '\n') {
+                int end = line.length();
+                if (end > 0 && line.charAt(end - 1) == '\r') line.setLength(end - 1);
+                lines.add(line.toString());
+                line.setLength(0);
+            } else {
+                line.append(c);
+            }
+        }
+        chars.clear();
+    }
+}
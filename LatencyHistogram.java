@@ -0,0 +1,88 @@
+import java.io.IOException;
+import java.util.Arrays;
+
+// Response times, counted in log-spaced buckets: each power of two of
+// microseconds is split into 8 buckets, so any recorded time is known to
+// within 12.5% however large it is. Recording is an array increment, and a
+// few hundred longs cover everything from a microsecond to hours.
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    // Longer times are counted as this
+    private static final long MAX_MICROS = (1L << 36) - 1;
+    private static final int BUCKETS = index(MAX_MICROS) + 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0;
+    private long maxMicros = 0;
+
+    public void record(long nanos) {
+        long micros = Math.min(Math.max(0, nanos / 1000), MAX_MICROS);
+        counts[index(micros)]++;
+        count++;
+        if (micros > maxMicros) maxMicros = micros;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long maxMicros() {
+        return maxMicros;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        maxMicros = 0;
+    }
+
+    // Upper bound of the bucket holding the p-th percentile (0-100); 0 if empty
+    public long percentileMicros(double p) {
+        if (count == 0) return 0;
+        long rank = (long) Math.ceil(p / 100.0 * count);
+        if (rank < 1) rank = 1;
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(upperBound(i), maxMicros);
+        }
+        return maxMicros;
+    }
+
+    public long percentileMillis(double p) {
+        return percentileMicros(p) / 1000;
+    }
+
+    // One "label,from_us,to_us,count" row per non-empty bucket
+    public void writeCsv(Appendable out, String label) throws IOException {
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] == 0) continue;
+            out.append(label).append(',')
+               .append(Long.toString(lowerBound(i))).append(',')
+               .append(Long.toString(upperBound(i))).append(',')
+               .append(Long.toString(counts[i])).append('\n');
+        }
+    }
+
+    // ====== Buckets ======
+    // Values below SUB_BUCKETS get a bucket each; above, the top SUB_BITS + 1
+    // bits pick the bucket
+    private static int index(long micros) {
+        if (micros < SUB_BUCKETS) return (int) micros;
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((micros >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    private static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        return lowerBound(index) + (1L << shift) - 1;
+    }
+}
@@ -1,39 +1,139 @@
-import java.util.Scanner;
+import java.io.IOException;
+import java.nio.file.Path;
 
 public class Main {
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
-        
-        System.out.println("╔══════════════════════════════════════╗");
-        System.out.println("║     EMOTION ROGUELITE RPG v1.0       ║");
-        System.out.println("╔══════════════════════════════════════╗");
-        
-        System.out.print("\nEnter your character name: ");
-        String name = scanner.nextLine();
-        
-        System.out.println("\nChoose your class:");
-        System.out.println("1. Warrior\n2. Wizard\n3. Bandit\n4. Chronomancer\n5. Alchemist\n6. Monk");
-        
-        int classChoice = scanner.nextInt();
-        scanner.nextLine();
-        
-        String classType = "Warrior";
-        if (classChoice == 2) classType = "Wizard";
-        else if (classChoice == 3) classType = "Bandit";
-        else if (classChoice == 4) classType = "Chronomancer";
-        else if (classChoice == 5) classType = "Alchemist";
-        else if (classChoice == 6) classType = "Monk";
-        
-        Player player = new Player(name, classType);
-        
-        System.out.println("\nYou start with ANGER - it charges when you take damage.");
-        System.out.println("Unlock more emotions by surviving battles!");
-        
+    private static final String USAGE = "Usage: java Main [-q] [--endless] [seed] [--record file] [--qte-stats file] | --replay file";
+
+    public static void main(String[] args) throws IOException {
+        // -q hides the per-hit combat detail; --endless runs until the player
+        // falls; a number is the run seed
+        OutputSink.Level verbosity = OutputSink.Level.DETAIL;
+        boolean endless = false;
+        RunSeed seed = null;
+        Path recordTo = null;
+        Path replayFrom = null;
+        Path qteStatsTo = null;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("-q")) verbosity = OutputSink.Level.NORMAL;
+            else if (arg.equals("--endless")) endless = true;
+            else if (arg.equals("--record")) recordTo = fileArgument(args, ++i, arg);
+            else if (arg.equals("--replay")) replayFrom = fileArgument(args, ++i, arg);
+            else if (arg.equals("--qte-stats")) qteStatsTo = fileArgument(args, ++i, arg);
+            else if (isNumber(arg)) seed = new RunSeed(Long.parseLong(arg));
+            else usage("Unknown argument: " + arg);
+        }
+
+        if (replayFrom != null) {
+            replay(replayFrom);
+            return;
+        }
+
+        // The same seed and the same choices replay the same run
+        if (seed == null) seed = RunSeed.random();
+
+        AsyncConsoleSink out = new AsyncConsoleSink(System.out, verbosity);
+        // Prompts reach the screen before the game waits for an answer
+        InputService input = InputService.console();
+        input.onBeforeRead(out::flush);
+
+        SkillManager.validateAll();
+        for (String problem : EnemyRegistry.get().getProblems()) {
+            out.println("Warning: " + problem);
+        }
+        DecisionSource decisions = new ConsoleDecisions(input);
+        RecordingDecisions recorder = null;
+        if (recordTo != null) {
+            recorder = new RecordingDecisions(decisions);
+            decisions = recorder;
+        }
+
+        out.println("╔══════════════════════════════════════╗");
+        out.println("║     EMOTION ROGUELITE RPG v1.0       ║");
+        out.println("╔══════════════════════════════════════╗");
+
+        out.print("\nEnter your character name: ");
+        String name = input.nextLine();
+
+        out.println("\nChoose your class:");
+        out.println("1. Warrior\n2. Wizard\n3. Bandit\n4. Chronomancer\n5. Alchemist\n6. Monk");
+
+        int classChoice = decisions.choose(DecisionSource.Choice.CLASS, 6);
+        input.nextLine();
+
+        Player player = new Player(name, classFor(classChoice));
+        player.setOutput(out);
+
+        out.println("\nYou start with ANGER - it charges when you take damage.");
+        out.println("Unlock more emotions by surviving battles!");
+
         // Use RogueliteLoop instead of Exploration
-        RogueliteLoop roguelite = new RogueliteLoop(player);
+        out.println("Run seed: " + seed.getSeed());
+        RogueliteLoop roguelite = new RogueliteLoop(player, seed, decisions, endless);
+        roguelite.startRun();
+
+        out.println("\n=== Game Over ===");
+        if (recorder != null) {
+            recorder.toReplay(seed.getSeed(), endless, name, roguelite.stateHash()).write(recordTo);
+            out.println("Replay saved to " + recordTo);
+        }
+        // Only the header until something in the run triggers a QTE
+        if (qteStatsTo != null) {
+            QTE.exportLatency(player, qteStatsTo);
+            out.println("QTE response times saved to " + qteStatsTo);
+        }
+        out.close();
+    }
+
+    // The file named after a flag such as --record
+    private static Path fileArgument(String[] args, int i, String flag) {
+        if (i >= args.length) usage(flag + " needs a file name");
+        return Path.of(args[i]);
+    }
+
+    private static boolean isNumber(String arg) {
+        try {
+            Long.parseLong(arg);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+
+    private static String classFor(int choice) {
+        if (choice == 2) return "Wizard";
+        else if (choice == 3) return "Bandit";
+        else if (choice == 4) return "Chronomancer";
+        else if (choice == 5) return "Alchemist";
+        else if (choice == 6) return "Monk";
+        return "Warrior";
+    }
+
+    // Plays a recorded run headless and checks it ends in the same state
+    private static void replay(Path path) throws IOException {
+        ReplayFile file = ReplayFile.read(path);
+        ReplayDecisions decisions = new ReplayDecisions(file);
+
+        long start = System.nanoTime();
+        Player player = new Player(file.getName(), classFor(decisions.choose(DecisionSource.Choice.CLASS, 6)));
+        player.setOutput(OutputSink.NONE);
+        RogueliteLoop roguelite = new RogueliteLoop(player, new RunSeed(file.getSeed()), decisions, file.isEndless());
         roguelite.startRun();
-        
-        System.out.println("\n=== Game Over ===");
-        scanner.close();
+        double millis = (System.nanoTime() - start) / 1e6;
+
+        long hash = roguelite.stateHash();
+        if (hash == file.getStateHash() && decisions.isFinished()) {
+            System.out.printf("Replay OK: %d battles, %d choices in %.1f ms (seed %d)%n",
+                              roguelite.getBattlesCompleted(), file.size(), millis, file.getSeed());
+        } else {
+            System.out.printf("Replay diverged: state hash %016x, recorded %016x%n", hash, file.getStateHash());
+            System.exit(1);
+        }
     }
-}
\ No newline at end of file
+}
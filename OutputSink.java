@@ -0,0 +1,70 @@
+// Where game text goes. The engine never writes to System.out directly so
+// that battles can run headless.
+//
+// Messages have a level: NORMAL for menus, prompts and narration, DETAIL for
+// the per-hit play-by-play (damage, heals, buff and status ticks). A sink
+// drops anything above its verbosity. DETAIL messages are passed as a pattern
+// with "{}" placeholders and only formatted if the sink will show them.
+public interface OutputSink {
+
+    enum Level { NORMAL, DETAIL }
+
+    void print(String text);
+    void println(String text);
+
+    boolean isEnabled(Level level);
+
+    // Blocks until everything written so far has reached the terminal
+    default void flush() {
+    }
+
+    default void println() {
+        println("");
+    }
+
+    // Lets callers skip building menus and banners nobody will see
+    default boolean isEnabled() {
+        return isEnabled(Level.NORMAL);
+    }
+
+    default void detail(String pattern) {
+        if (isEnabled(Level.DETAIL)) println(pattern);
+    }
+
+    default void detail(String pattern, Object a) {
+        if (isEnabled(Level.DETAIL)) println(format(pattern, a));
+    }
+
+    default void detail(String pattern, Object a, Object b) {
+        if (isEnabled(Level.DETAIL)) println(format(pattern, a, b));
+    }
+
+    default void detail(String pattern, Object a, Object b, Object c) {
+        if (isEnabled(Level.DETAIL)) println(format(pattern, a, b, c));
+    }
+
+    static String format(String pattern, Object... args) {
+        StringBuilder sb = new StringBuilder(pattern.length() + 16 * args.length);
+        int from = 0;
+        for (Object arg : args) {
+            int at = pattern.indexOf("{}", from);
+            if (at < 0) break;
+            sb.append(pattern, from, at).append(arg);
+            from = at + 2;
+        }
+        return sb.append(pattern, from, pattern.length()).toString();
+    }
+
+    // Synchronous, everything shown
+    OutputSink CONSOLE = new OutputSink() {
+        public void print(String text) { System.out.print(text); }
+        public void println(String text) { System.out.println(text); }
+        public boolean isEnabled(Level level) { return true; }
+    };
+
+    OutputSink NONE = new OutputSink() {
+        public void print(String text) { }
+        public void println(String text) { }
+        public boolean isEnabled(Level level) { return false; }
+    };
+}
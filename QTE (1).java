@@ -1,82 +1,117 @@
-import java.util.*;
 import java.io.*;
+import java.nio.file.*;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.random.RandomGenerator;
 
 public class QTE {
-    private static List<String> easyWords = new ArrayList<>();
-    private static List<String> hardWords = new ArrayList<>();
-    private static List<String> extremeWords = new ArrayList<>();
-    private static Random random = new Random();
-    private static Scanner scanner = new Scanner(System.in);
+    private static final AtomicBoolean problemsReported = new AtomicBoolean();
+
+    public static boolean triggerQTE(String difficulty) {
+        return triggerQTE(difficulty, ThreadLocalRandom.current());
+    }
+
+    // Pass a stream from the run's RunSeed to keep the picked word reproducible.
+    // With no player to write through, the text goes straight to the console.
+    public static boolean triggerQTE(String difficulty, RandomGenerator random) {
+        return triggerQTE(QteDictionary.tier(difficulty), random, OutputSink.CONSOLE);
+    }
 
-    static {
-        loadWords("qte_words.txt");
+    public static boolean triggerQTE(QteDictionary.Tier tier, RandomGenerator random, OutputSink out) {
+        return prompt(words(out).pick(tier, random), tier.timeLimitMillis, null, out);
     }
 
-    private static void loadWords(String filename) {
-        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String word = line.trim();
-                if (!word.isEmpty()) {
-                    if (word.length() <= 5) {
-                        easyWords.add(word);
-                    } else if (word.length() >= 8) {
-                        extremeWords.add(word);
-                    } else {
-                        hardWords.add(word);
-                    }
-                }
+    // The word list, loaded on first use; if it fell back to the defaults the
+    // reason is printed the first time through whichever sink asks
+    private static QteDictionary words(OutputSink out) {
+        QteDictionary words = QteDictionary.get();
+        if (!words.getProblems().isEmpty() && problemsReported.compareAndSet(false, true)) {
+            for (String problem : words.getProblems()) {
+                out.println("Warning: " + problem);
             }
-        } catch (IOException e) {
-            System.out.println("Error loading QTE words. Using default.");
-            easyWords = Arrays.asList("tap", "hit", "run");
-            hardWords = Arrays.asList("parry", "strike", "deflect");
         }
+        return words;
     }
 
-    public static boolean triggerQTE(String difficulty) {
-        String target;
-        int timeLimit;
+    // ====== Adaptive QTEs ======
+    // Answers a player needs to have given in a tier before it adapts to them
+    public static final int MIN_SAMPLES = 5;
 
-        if (difficulty.equalsIgnoreCase("easy")) {
-            target = easyWords.get(random.nextInt(easyWords.size()));
-            timeLimit = 3000;
-        } else if (difficulty.equalsIgnoreCase("Extreme")) {
-            target = extremeWords.get(random.nextInt(extremeWords.size()));
-            timeLimit = 6000;
-        } else {
-            target = hardWords.get(random.nextInt(hardWords.size()));
-            timeLimit = 4000;
-        }
+    // Times each answer into the player's histogram for the tier, and once
+    // there are enough of them sets the time limit and word length from the
+    // player's own percentiles rather than the fixed limits. A slow terminal
+    // then costs time, not the QTE. A timeout counts as an answer at the
+    // limit, so a player who never beats the fixed limit still gets more time.
+    public static boolean triggerQTE(Player player, String difficulty, RandomGenerator random) {
+        OutputSink out = player.getOutput();
+        QteDictionary.Tier tier = QteDictionary.tier(difficulty);
+        LatencyHistogram latency = player.getQteLatency(tier);
+        String target = words(out).pick(wordTier(tier, latency), random);
+        return prompt(target, timeLimit(tier, latency), latency, out);
+    }
+
+    // 25% over the player's 90th percentile, kept between half and three
+    // times the tier's own limit
+    static int timeLimit(QteDictionary.Tier tier, LatencyHistogram latency) {
+        if (latency.count() < MIN_SAMPLES) return tier.timeLimitMillis;
+        long limit = latency.percentileMillis(90) * 5 / 4;
+        return (int) Math.max(tier.timeLimitMillis / 2, Math.min(limit, tier.timeLimitMillis * 3L));
+    }
+
+    // Longer words when the player's median answer takes under 35% of the
+    // tier's limit, shorter ones when it takes over 80%
+    static QteDictionary.Tier wordTier(QteDictionary.Tier tier, LatencyHistogram latency) {
+        if (latency.count() < MIN_SAMPLES) return tier;
+        long median = latency.percentileMillis(50);
+        if (median * 100 < tier.timeLimitMillis * 35L) return QteDictionary.harder(tier);
+        if (median * 100 > tier.timeLimitMillis * 80L) return QteDictionary.easier(tier);
+        return tier;
+    }
 
-        System.out.println("==QUICK TIME EVENT==");
-        System.out.println("Type: '" + target + "' within " + (timeLimit / 1000.0) + " seconds!");
+    // CSV of every tier's histogram: tier,from_us,to_us,count. A player with no
+    // QTEs yet gets just the header.
+    public static void exportLatency(Player player, Path path) throws IOException {
+        try (Writer out = Files.newBufferedWriter(path)) {
+            out.write("tier,from_us,to_us,count\n");
+            for (Map.Entry<String, LatencyHistogram> e : player.getQteLatencies().entrySet()) {
+                e.getValue().writeCsv(out, e.getKey());
+            }
+        }
+    }
 
-        ExecutorService executor = Executors.newSingleThreadExecutor();
-        Future<String> future = executor.submit(() -> {
-            System.out.print("> ");
-            return scanner.nextLine().trim();
-        });
+    // latency, if given, gets the time to each answer; a timeout is recorded as
+    // taking the whole limit.
+    // Text goes through out like the rest of the game's, and is flushed before
+    // the clock starts so the prompt is on screen after anything still queued.
+    private static boolean prompt(String target, int timeLimit, LatencyHistogram latency, OutputSink out) {
+        out.println("==QUICK TIME EVENT==");
+        out.println("Type: '" + target + "' within " + (timeLimit / 1000.0) + " seconds!");
 
+        // Waits on this thread; a timed-out prompt leaves later input unread
+        out.print("> ");
+        out.flush();
+        String input;
+        long start = System.nanoTime();
         try {
-            String input = future.get(timeLimit, TimeUnit.MILLISECONDS);
-            if (input.equalsIgnoreCase(target)) {
-                System.out.println("Success!");
-                return true;
-            } else {
-                System.out.println("Wrong word!");
-                return false;
-            }
-        } catch (TimeoutException e) {
-            System.out.println("\nToo slow!");
-            future.cancel(true);
+            input = InputService.console().pollLine(timeLimit, TimeUnit.MILLISECONDS);
+        } catch (NoSuchElementException e) {
+            out.println("Error during QTE.");
+            return false;
+        }
+        if (latency != null) {
+            latency.record(input != null ? System.nanoTime() - start : TimeUnit.MILLISECONDS.toNanos(timeLimit));
+        }
+
+        if (input == null) {
+            out.println("\nToo slow!");
             return false;
-        } catch (Exception e) {
-            System.out.println("Error during QTE.");
+        } else if (input.trim().equalsIgnoreCase(target)) {
+            out.println("Success!");
+            return true;
+        } else {
+            out.println("Wrong word!");
             return false;
-        } finally {
-            executor.shutdownNow();
         }
     }
 }
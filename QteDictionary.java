@@ -0,0 +1,204 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.random.RandomGenerator;
+
+// Words for quick time events, one per line in qte_words.txt.
+//
+// The file is memory-mapped on first use, not read onto the heap. One pass
+// counts the words of each length and a second records where each starts,
+// grouped by length, so the index is one int per word and a word is only
+// turned into a String when it is picked. Because the groups are in length
+// order, the words of any length range are one contiguous run of the index
+// and a random pick from a tier is constant time.
+public final class QteDictionary {
+    // -Dqte.words=path picks another word list
+    public static final String SOURCE_PROPERTY = "qte.words";
+    public static final String DEFAULT_SOURCE = "qte_words.txt";
+
+    // Words longer than this share the last group
+    private static final int MAX_LENGTH = 64;
+
+    // Used when the word list is missing or empty, one line per word
+    private static final String DEFAULT_WORDS = "tap\nhit\nrun\nparry\nstrike\ndeflect\ncountered\nunderdog\n";
+
+    // A difficulty: words of minLength to maxLength characters, typed within timeLimitMillis
+    public static final class Tier {
+        public final String name;
+        public final int minLength;
+        public final int maxLength;
+        public final int timeLimitMillis;
+
+        public Tier(String name, int minLength, int maxLength, int timeLimitMillis) {
+            if (minLength < 1 || maxLength < minLength) {
+                throw new IllegalArgumentException("Bad word lengths for tier " + name + ": " + minLength + "-" + maxLength);
+            }
+            this.name = name;
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+            this.timeLimitMillis = timeLimitMillis;
+        }
+    }
+
+    public static final Tier EASY = new Tier("Easy", 1, 5, 3000);
+    public static final Tier HARD = new Tier("Hard", 6, 7, 4000);
+    public static final Tier EXTREME = new Tier("Extreme", 8, Integer.MAX_VALUE, 6000);
+
+    private static final class Holder {
+        static final QteDictionary INSTANCE = load(Path.of(System.getProperty(SOURCE_PROPERTY, DEFAULT_SOURCE)));
+    }
+
+    public static QteDictionary get() {
+        return Holder.INSTANCE;
+    }
+
+    // The next tier up or down; other tiers have no neighbours
+    public static Tier harder(Tier tier) {
+        if (tier == EASY) return HARD;
+        if (tier == HARD) return EXTREME;
+        return tier;
+    }
+
+    public static Tier easier(Tier tier) {
+        if (tier == EXTREME) return HARD;
+        if (tier == HARD) return EASY;
+        return tier;
+    }
+
+    // "easy" and "extreme" in any case; anything else is hard, as QTE always did
+    public static Tier tier(String difficulty) {
+        if (difficulty.equalsIgnoreCase("easy")) return EASY;
+        if (difficulty.equalsIgnoreCase("extreme")) return EXTREME;
+        return HARD;
+    }
+
+    private final ByteBuffer words;
+    // Start of each word, ordered by length
+    private final int[] offsets;
+    // Words of length L are offsets[first[L]] up to offsets[first[L + 1]]
+    private final int[] first = new int[MAX_LENGTH + 2];
+    private final String source;
+    // Why the defaults are in use, if they are
+    private final List<String> problems;
+
+    private QteDictionary(ByteBuffer words, String source, List<String> problems) {
+        this.words = words;
+        this.source = source;
+        this.problems = problems;
+
+        int[] count = new int[MAX_LENGTH + 1];
+        scan(words, (start, length) -> count[length]++);
+        for (int length = 1; length <= MAX_LENGTH; length++) {
+            first[length + 1] = first[length] + count[length];
+        }
+
+        offsets = new int[first[MAX_LENGTH + 1]];
+        int[] next = Arrays.copyOf(first, MAX_LENGTH + 1);
+        scan(words, (start, length) -> offsets[next[length]++] = start);
+    }
+
+    // Falls back to the default words rather than failing; getProblems() says why.
+    // Nothing is printed here, the caller reports problems through its own sink.
+    static QteDictionary load(Path path) {
+        String problem;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("word list over 2 GB");
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            QteDictionary dictionary = new QteDictionary(map, path.toString(), List.of());
+            if (dictionary.size() > 0) return dictionary;
+            problem = "QTE word list " + path + " is empty. Using default words.";
+        } catch (IOException e) {
+            problem = "Could not load QTE words from " + path + ". Using default words.";
+        }
+        return new QteDictionary(ByteBuffer.wrap(DEFAULT_WORDS.getBytes(StandardCharsets.UTF_8)), "defaults",
+                                 List.of(problem));
+    }
+
+    public int size() {
+        return offsets.length;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public List<String> getProblems() {
+        return problems;
+    }
+
+    // Words in the tier's length range
+    public int count(Tier tier) {
+        return end(tier) - begin(tier);
+    }
+
+    // A random word of the tier's length; if the list has none that short or
+    // long, a random word of any length
+    public String pick(Tier tier, RandomGenerator random) {
+        int begin = begin(tier);
+        int end = end(tier);
+        if (begin == end) {
+            begin = 0;
+            end = offsets.length;
+        }
+        return word(begin + random.nextInt(end - begin));
+    }
+
+    private int begin(Tier tier) {
+        return first[Math.min(tier.minLength, MAX_LENGTH + 1)];
+    }
+
+    private int end(Tier tier) {
+        return first[Math.min(tier.maxLength, MAX_LENGTH) + 1];
+    }
+
+    // The index-th word in length order
+    private String word(int index) {
+        int start = offsets[index];
+        int end = start;
+        int limit = words.limit();
+        while (end < limit && !isLineEnd(words.get(end))) end++;
+        while (end > start && isBlank(words.get(end - 1))) end--;
+        byte[] bytes = new byte[end - start];
+        words.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ====== Scanning ======
+    private interface WordVisitor {
+        void word(int start, int length);
+    }
+
+    // Every non-blank line, trimmed; length is in characters, capped at MAX_LENGTH
+    private static void scan(ByteBuffer words, WordVisitor visitor) {
+        int limit = words.limit();
+        int pos = 0;
+        while (pos < limit) {
+            while (pos < limit && isBlank(words.get(pos))) pos++;
+            int start = pos;
+            int length = 0;
+            int trimmed = 0;
+            while (pos < limit && !isLineEnd(words.get(pos))) {
+                byte b = words.get(pos++);
+                // Count UTF-8 lead bytes only, so a length is in characters
+                if ((b & 0xC0) != 0x80) length++;
+                if (!isBlank(b)) trimmed = length;
+            }
+            if (trimmed > 0) visitor.word(start, Math.min(trimmed, MAX_LENGTH));
+            pos++;
+        }
+    }
+
+    private static boolean isLineEnd(byte b) {
+        return b == '\n';
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+}
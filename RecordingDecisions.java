@@ -0,0 +1,38 @@
+import java.util.Arrays;
+
+// Passes choices through from another source and keeps them for a ReplayFile
+public class RecordingDecisions implements DecisionSource {
+    private final DecisionSource source;
+    private byte[] kinds = new byte[256];
+    private int[] answers = new int[256];
+    private int count = 0;
+
+    public RecordingDecisions(DecisionSource source) {
+        this.source = source;
+    }
+
+    public int choose(Choice choice, int options) {
+        int answer = source.choose(choice, options);
+        if (count == answers.length) {
+            kinds = Arrays.copyOf(kinds, count * 2);
+            answers = Arrays.copyOf(answers, count * 2);
+        }
+        kinds[count] = (byte) choice.ordinal();
+        answers[count] = answer;
+        count++;
+        return answer;
+    }
+
+    public void pause() {
+        source.pause();
+    }
+
+    public ReplayFile toReplay(long seed, String name, long stateHash) {
+        return toReplay(seed, false, name, stateHash);
+    }
+
+    public ReplayFile toReplay(long seed, boolean endless, String name, long stateHash) {
+        return new ReplayFile(seed, endless, name, Arrays.copyOf(kinds, count),
+                              Arrays.copyOf(answers, count), stateHash);
+    }
+}
@@ -0,0 +1,28 @@
+// Answers from a ReplayFile, in order. If the engine asks for a different kind
+// of choice than the one recorded, the run has already gone another way, so
+// that fails at once instead of feeding it answers meant for other menus.
+public class ReplayDecisions implements DecisionSource {
+    private final ReplayFile replay;
+    private int next = 0;
+
+    public ReplayDecisions(ReplayFile replay) {
+        this.replay = replay;
+    }
+
+    public int choose(Choice choice, int options) {
+        if (next >= replay.size()) {
+            throw new IllegalStateException("Replay ran out of choices: engine asked for "
+                                            + choice + " after " + next);
+        }
+        if (replay.getKind(next) != choice) {
+            throw new IllegalStateException("Replay diverged at choice " + (next + 1) + ": engine asked for "
+                                            + choice + ", file has " + replay.getKind(next));
+        }
+        return replay.getAnswer(next++);
+    }
+
+    // True once every recorded choice has been used
+    public boolean isFinished() {
+        return next == replay.size();
+    }
+}
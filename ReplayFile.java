@@ -0,0 +1,147 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+// A recorded run: the seed, the player's name and every numbered choice they
+// made. That is all it takes to play the run again (see ReplayDecisions),
+// and a 12-battle run fits in a few hundred bytes.
+//
+// Layout, integers as LEB128 varints:
+//   "ERPL", version, seed (zigzag), flags, name length, name (UTF-8),
+//   choice count, one varint per choice: zigzag(answer) << 4 | Choice ordinal,
+//   state hash of the finished run (8 bytes, big-endian)
+// flags: bit 0 = endless run. Version 1 files have no flags field.
+public final class ReplayFile {
+    private static final byte[] MAGIC = { 'E', 'R', 'P', 'L' };
+    private static final int VERSION = 2;
+    private static final int FLAG_ENDLESS = 1;
+    private static final int KIND_BITS = 4; // room for 16 Choice kinds
+
+    private final long seed;
+    private final boolean endless;
+    private final String name;
+    private final byte[] kinds;
+    private final int[] answers;
+    private final long stateHash;
+
+    public ReplayFile(long seed, String name, byte[] kinds, int[] answers, long stateHash) {
+        this(seed, false, name, kinds, answers, stateHash);
+    }
+
+    public ReplayFile(long seed, boolean endless, String name, byte[] kinds, int[] answers, long stateHash) {
+        this.seed = seed;
+        this.endless = endless;
+        this.name = name;
+        this.kinds = kinds;
+        this.answers = answers;
+        this.stateHash = stateHash;
+    }
+
+    public long getSeed() { return seed; }
+    public boolean isEndless() { return endless; }
+    public String getName() { return name; }
+    public long getStateHash() { return stateHash; }
+    public int size() { return answers.length; }
+    public DecisionSource.Choice getKind(int i) { return DecisionSource.Choice.values()[kinds[i]]; }
+    public int getAnswer(int i) { return answers[i]; }
+
+    public void write(Path path) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(64 + answers.length * 2);
+        buf.write(MAGIC);
+        writeVarint(buf, VERSION);
+        writeVarint(buf, zigzag(seed));
+        writeVarint(buf, endless ? FLAG_ENDLESS : 0);
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        writeVarint(buf, nameBytes.length);
+        buf.write(nameBytes);
+        writeVarint(buf, answers.length);
+        for (int i = 0; i < answers.length; i++) {
+            writeVarint(buf, zigzag(answers[i]) << KIND_BITS | kinds[i]);
+        }
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buf.write((int) (stateHash >>> shift));
+        }
+        Files.write(path, buf.toByteArray());
+    }
+
+    public static ReplayFile read(Path path) throws IOException {
+        Reader in = new Reader(Files.readAllBytes(path));
+        for (byte b : MAGIC) {
+            if (in.next() != b) throw new IOException(path + " is not a replay file");
+        }
+        long version = in.varint();
+        if (version != 1 && version != VERSION) {
+            throw new IOException(path + ": unsupported replay version " + version);
+        }
+        long seed = unzigzag(in.varint());
+        long flags = version >= 2 ? in.varint() : 0;
+        String name = new String(in.bytes((int) in.varint()), StandardCharsets.UTF_8);
+
+        int count = (int) in.varint();
+        byte[] kinds = new byte[count];
+        int[] answers = new int[count];
+        int kindCount = DecisionSource.Choice.values().length;
+        for (int i = 0; i < count; i++) {
+            long packed = in.varint();
+            int kind = (int) (packed & ((1 << KIND_BITS) - 1));
+            if (kind >= kindCount) throw new IOException(path + ": unknown choice kind " + kind);
+            kinds[i] = (byte) kind;
+            answers[i] = (int) unzigzag(packed >>> KIND_BITS);
+        }
+
+        long hash = 0;
+        for (int i = 0; i < 8; i++) {
+            hash = hash << 8 | (in.next() & 0xff);
+        }
+        return new ReplayFile(seed, (flags & FLAG_ENDLESS) != 0, name, kinds, answers, hash);
+    }
+
+    // ===== Encoding =====
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream buf, long v) {
+        while ((v & ~0x7FL) != 0) {
+            buf.write((int) (v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buf.write((int) v);
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int pos = 0;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        byte next() throws IOException {
+            if (pos >= data.length) throw new EOFException("Replay file is truncated");
+            return data[pos++];
+        }
+
+        byte[] bytes(int n) throws IOException {
+            if (n < 0 || pos + n > data.length) throw new EOFException("Replay file is truncated");
+            byte[] out = new byte[n];
+            System.arraycopy(data, pos, out, 0, n);
+            pos += n;
+            return out;
+        }
+
+        long varint() throws IOException {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = next();
+                v |= (long) (b & 0x7F) << shift;
+                if (b >= 0) return v;
+            }
+            throw new IOException("Malformed varint in replay file");
+        }
+    }
+}
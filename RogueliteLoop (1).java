@@ -1,12 +1,22 @@
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 public class RogueliteLoop {
+    private static final String RULE = "=".repeat(50);
+
     private Player player;
-    private Scanner scanner;
-    private Random random;
+    private OutputSink out;
+    private DecisionSource decisions;
+    private RunSeed seed;
+    private RandomGenerator random;
+    private RandomGenerator encounterRandom;
+    private RandomGenerator emotionRandom;
     private EmotionManager emotionManager;
     private int battlesCompleted;
     private int totalBattles = 12; // Increased for 4 biomes (3 battles each)
+    // No battle limit; past the pack's biomes new ones are generated (see Biome.generate)
+    private final boolean endless;
+    private final RunHistory history = new RunHistory(RunHistory.DEFAULT_CAPACITY);
     
     // Biome system
     private List<Biome> biomes;
@@ -21,9 +31,29 @@ public class RogueliteLoop {
     private boolean riskyBargainActive = false;
     
     public RogueliteLoop(Player player) {
+        this(player, RunSeed.random());
+    }
+    
+    public RogueliteLoop(Player player, RunSeed seed) {
+        this(player, seed, new ConsoleDecisions());
+    }
+    
+    // Every choice in the run goes through decisions, so recording them
+    // alongside the seed is enough to replay the run (see ReplayFile)
+    public RogueliteLoop(Player player, RunSeed seed, DecisionSource decisions) {
+        this(player, seed, decisions, false);
+    }
+    
+    public RogueliteLoop(Player player, RunSeed seed, DecisionSource decisions, boolean endless) {
         this.player = player;
-        this.scanner = new Scanner(System.in);
-        this.random = new Random();
+        this.endless = endless;
+        this.out = player.getOutput();
+        this.decisions = decisions;
+        this.seed = seed;
+        this.random = seed.stream(RunSeed.LOOP);
+        this.encounterRandom = seed.stream(RunSeed.ENCOUNTER);
+        this.emotionRandom = seed.stream(RunSeed.EMOTIONS);
+        player.setRandom(seed.stream(RunSeed.PLAYER));
         this.emotionManager = new EmotionManager(player);
         this.battlesCompleted = 0;
         this.biomes = Biome.createAllBiomes();
@@ -31,66 +61,73 @@ public class RogueliteLoop {
     }
     
     public void startRun() {
-        System.out.println("\n╔══════════════════════════════════════╗");
-        System.out.println("║   WELCOME TO THE EMOTION ROGUELITE   ║");
-        System.out.println("╔══════════════════════════════════════╗");
-        System.out.println("\nThe world has grown cold and empty.");
-        System.out.println("Emotions have been stolen from everyone...");
-        System.out.println("Including you.");
-        System.out.println("\nSurvive " + totalBattles + " battles to uncover the truth!");
-        System.out.println("Reclaim your emotions along the way.\n");
+        out.println("\n╔══════════════════════════════════════╗");
+        out.println("║   WELCOME TO THE EMOTION ROGUELITE   ║");
+        out.println("╔══════════════════════════════════════╗");
+        out.println("\nThe world has grown cold and empty.");
+        out.println("Emotions have been stolen from everyone...");
+        out.println("Including you.");
+        if (endless) {
+            out.println("\nThe road does not end. Survive as long as you can!");
+        } else {
+            out.println("\nSurvive " + totalBattles + " battles to uncover the truth!");
+        }
+        out.println("Reclaim your emotions along the way.\n");
         
-        while (battlesCompleted < totalBattles && player.isAlive()) {
+        while ((endless || battlesCompleted < totalBattles) && player.isAlive()) {
             // Change biome every 3 battles
             if (battlesCompleted > 0 && battlesCompleted % 3 == 0) {
                 currentBiomeIndex++;
-                if (currentBiomeIndex < biomes.size()) {
-                    currentBiome = biomes.get(currentBiomeIndex);
-                    System.out.println("\n╔══════════════════════════════════════╗");
-                    System.out.println("║    ENTERING NEW BIOME                ║");
-                    System.out.println("╔══════════════════════════════════════╗");
-                    System.out.println("\n" + currentBiome.getName());
-                    System.out.println(currentBiome.getDescription());
-                    System.out.println("\nPress Enter to continue...");
-                    scanner.nextLine();
+                if (currentBiomeIndex < biomes.size() || endless) {
+                    // Only the current biome is kept; a generated one is dropped when the run moves on
+                    currentBiome = currentBiomeIndex < biomes.size()
+                        ? biomes.get(currentBiomeIndex)
+                        : Biome.generate(biomes, seed, currentBiomeIndex);
+                    out.println("\n╔══════════════════════════════════════╗");
+                    out.println("║    ENTERING NEW BIOME                ║");
+                    out.println("╔══════════════════════════════════════╗");
+                    out.println("\n" + currentBiome.getName());
+                    out.println(currentBiome.getDescription());
+                    out.println("\nPress Enter to continue...");
+                    decisions.pause();
                 }
             }
             
             // Chance for mystery encounter (30% chance before each battle)
             if (random.nextInt(10) < 3) {
                 MysteryEncounter encounter = MysteryEncounter.getRandomForBiome(
-                    currentBiome.getName(), random);
+                    currentBiome.getTheme(), random);
                 if (encounter != null) {
-                    encounter.trigger(player, emotionManager, scanner);
+                    encounter.trigger(player, emotionManager, decisions, encounterRandom);
                 }
             }
             
-            System.out.println("\n" + "=".repeat(50));
-            System.out.println("BATTLE " + (battlesCompleted + 1) + " of " + totalBattles);
-            System.out.println("Location: " + currentBiome.getName());
-            System.out.println("=".repeat(50));
+            out.println("\n" + RULE);
+            out.println("BATTLE " + (battlesCompleted + 1) + (endless ? "" : " of " + totalBattles));
+            out.println("Location: " + currentBiome.getName());
+            out.println(RULE);
             
             // CHANGED: 50% heal instead of full (makes choices matter)
             int healAmount = player.maxHealth / 2;
             player.health = Math.min(player.maxHealth, player.health + healAmount);
-            System.out.println(player.getName() + " heals for " + healAmount + " HP before battle!");
-            System.out.println("Current HP: " + player.health + "/" + player.maxHealth);
+            out.println(player.getName() + " heals for " + healAmount + " HP before battle!");
+            out.println("Current HP: " + player.health + "/" + player.maxHealth);
             
             // Apply battle trance buff if active
             if (battleTranceStacks > 0) {
                 player.applyBuff("attack", 3, 2);
                 battleTranceStacks--;
-                System.out.println("Battle Trance active! (" + battleTranceStacks + " battles remaining)");
+                out.println("Battle Trance active! (" + battleTranceStacks + " battles remaining)");
             }
             
             // Emotion selection
             if (emotionManager.getUnlockedCount() > 0) {
-                emotionManager.selectEmotionsForBattle(scanner);
+                emotionManager.selectEmotionsForBattle(decisions, emotionRandom);
                 
                 // Apply primed emotion if exists
                 if (primedEmotion != null) {
                     primedEmotion.addCharge(3);
-                    System.out.println(primedEmotion.getName() + " starts pre-charged!");
+                    out.println(primedEmotion.getName() + " starts pre-charged!");
                     primedEmotion = null;
                 }
                 
@@ -104,11 +141,11 @@ public class RogueliteLoop {
                             emotionsPreCharged++;
                         }
                     }
-                    System.out.println("Risky Bargain: 2 emotions start with 2 charge!");
+                    out.println("Risky Bargain: 2 emotions start with 2 charge!");
                     riskyBargainActive = false;
                 }
             } else {
-                System.out.println("\nYou have no emotions yet. You must fight without them...");
+                out.println("\nYou have no emotions yet. You must fight without them...");
             }
             
             // Set weather and battle event
@@ -120,23 +157,48 @@ public class RogueliteLoop {
             currentBattleEvent = new BattleEvent(eventType, getEventDescription(eventType));
             currentBattleEvent.setActive(true);
             
-            System.out.println("\n--- Battle Conditions ---");
-            System.out.println("Weather: " + weatherType + " (" + currentWeather.getEffectDescription() + ")");
-            
-            // Generate enemy from current biome
-            Enemy enemy = generateEnemy();
+            // From the third biome on, a third of the battles are hordes.
+            // Weather only knows how to act on one enemy, so hordes go without.
+            boolean isHorde = currentBiomeIndex >= 2 && random.nextInt(3) == 0;
+            out.println("\n--- Battle Conditions ---");
+            if (isHorde) {
+                out.println("Weather: " + weatherType + " (no effect on a horde battle)");
+            } else {
+                out.println("Weather: " + weatherType + " (" + currentWeather.getEffectDescription() + ")");
+            }
             
-            // Start battle with weather and event
-            EmotionBattle battle = new EmotionBattle(player, enemy, emotionManager, 
-                                                     currentWeather, currentBattleEvent);
-            boolean won = battle.start();
+            boolean won;
+            int xpReward;
+            String opponent;
+            if (isHorde) {
+                List<Enemy> enemies = generateHorde();
+                HordeBattle horde = new HordeBattle(player, List.of(), enemies, emotionManager,
+                                                    currentBattleEvent, decisions);
+                won = horde.start();
+                xpReward = horde.getXPReward();
+                opponent = "a horde of " + enemies.size();
+            } else {
+                // Generate enemy from current biome
+                Enemy enemy = generateEnemy();
+                enemy.setOutput(out);
+                enemy.setRandom(seed.child(RunSeed.BATTLE).child(battlesCompleted).stream(RunSeed.ENEMY));
+                
+                // Start battle with weather and event
+                EmotionBattle battle = new EmotionBattle(player, enemy, emotionManager, 
+                                                         currentWeather, currentBattleEvent, decisions);
+                won = battle.start();
+                xpReward = battle.getXPReward();
+                opponent = enemy.getName();
+            }
+            history.record(battlesCompleted + 1, currentBiome.getName(), opponent, won, xpReward);
             
             if (!won) {
-                System.out.println("\n╔══════════════════════════════════════╗");
-                System.out.println("║          DEFEAT - RUN ENDED          ║");
-                System.out.println("╔══════════════════════════════════════╗");
-                System.out.println("Battles completed: " + battlesCompleted);
-                System.out.println("You collapsed in: " + currentBiome.getName());
+                out.println("\n╔══════════════════════════════════════╗");
+                out.println("║          DEFEAT - RUN ENDED          ║");
+                out.println("╔══════════════════════════════════════╗");
+                out.println("Battles completed: " + battlesCompleted);
+                out.println("You collapsed in: " + currentBiome.getName());
+                history.print(out);
                 return;
             }
             
@@ -144,19 +206,19 @@ public class RogueliteLoop {
             emotionManager.onBattleWon();
             
             // Give XP AFTER battle
-            System.out.println("\n" + "=".repeat(50));
-            int xpReward = battle.getXPReward();
-            System.out.println("XP Gained: " + xpReward);
-            player.gainXP(xpReward, scanner);
-            System.out.println("=".repeat(50));
+            out.println("\n" + RULE);
+            out.println("XP Gained: " + xpReward);
+            player.gainXP(xpReward, decisions);
+            out.println(RULE);
             
             // Check for victory
-            if (battlesCompleted >= totalBattles) {
-                System.out.println("\n╔══════════════════════════════════════╗");
-                System.out.println("║        VICTORY - RUN COMPLETE!       ║");
-                System.out.println("╔══════════════════════════════════════╗");
-                System.out.println("You've conquered all " + totalBattles + " battles!");
-                System.out.println("But the journey to reclaim all emotions continues...");
+            if (!endless && battlesCompleted >= totalBattles) {
+                out.println("\n╔══════════════════════════════════════╗");
+                out.println("║        VICTORY - RUN COMPLETE!       ║");
+                out.println("╔══════════════════════════════════════╗");
+                out.println("You've conquered all " + totalBattles + " battles!");
+                out.println("But the journey to reclaim all emotions continues...");
+                history.print(out);
                 return;
             }
             
@@ -165,51 +227,73 @@ public class RogueliteLoop {
         }
     }
     
+    public int getBattlesCompleted() {
+        return battlesCompleted;
+    }
+    
+    public boolean isEndless() {
+        return endless;
+    }
+    
+    public RunHistory getHistory() {
+        return history;
+    }
+    
+    // Fingerprint of where the run ended up; a replay has to reproduce it exactly
+    public long stateHash() {
+        long h = 0xcbf29ce484222325L; // FNV-1a offset basis
+        h = hash(h, battlesCompleted);
+        h = hash(h, player.getLevel());
+        h = hash(h, player.getXP());
+        h = hash(h, player.health);
+        h = hash(h, player.maxHealth);
+        h = hash(h, player.attack);
+        h = hash(h, player.defense);
+        h = hash(h, Objects.hashCode(player.getSpecialization()));
+        SkillBook skills = player.getSkills();
+        for (int i = 0; i < skills.size(); i++) {
+            h = hash(h, skills.get(i).getName().hashCode());
+            h = hash(h, skills.power(i));
+        }
+        List<EmotionCard> emotions = emotionManager.getAllEmotions();
+        for (int i = 0; i < emotions.size(); i++) {
+            h = hash(h, emotionManager.isUnlocked(i) ? 1 : 0);
+            h = hash(h, emotions.get(i).getMaxChargeTicks());
+        }
+        return h;
+    }
+    
+    private static long hash(long h, int value) {
+        for (int i = 0; i < 4; i++) {
+            h ^= (value >>> (8 * i)) & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+    
     private Enemy generateEnemy() {
-        // Get enemy from current biome's pool
+        // Get enemy from current biome's pool, scaled to the player's level
         String enemyName = currentBiome.getRandomEnemy(random);
-        
-        // Get the template from existing enemy arrays
-        Enemy template = null;
-        
-        // Search through all enemy arrays for this name
-        Enemy[] pools = {
-            Enemy.getDefaultEnemies(),
-            Enemy.getLvl2Enemies(),
-            Enemy.getModerateEnemies(),
-            Enemy.getLvl4Enemies(),
-            Enemy.getMBossEnemies()
-        };
-        
-        for (Enemy[] pool : pools) {
-            for (Enemy e : pool) {
-                if (e.getName().equals(enemyName)) {
-                    template = e;
-                    break;
-                }
-            }
-            if (template != null) break;
-        }
-        
-        // Fallback to Goblin if not found
-        if (template == null) {
-            template = Enemy.getDefaultEnemies()[0];
+        return EnemyRegistry.get().spawn(enemyName, player.getLevel() + currentBiome.getLevelBonus());
+    }
+    
+    // 2-3 enemies from the biome's pool, a little below the player's level and
+    // weakened (60% HP, 70% attack) since they all get turns
+    private List<Enemy> generateHorde() {
+        int count = 2 + random.nextInt(2);
+        int level = Math.max(1, player.getLevel() + currentBiome.getLevelBonus() - 2);
+        RunSeed battleSeed = seed.child(RunSeed.BATTLE).child(battlesCompleted);
+        List<Enemy> horde = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Enemy enemy = EnemyRegistry.get().spawn(currentBiome.getRandomEnemy(random), level);
+            enemy.setOutput(out);
+            enemy.setRandom(battleSeed.child(i).stream(RunSeed.ENEMY));
+            enemy.maxHealth = enemy.maxHealth * 6 / 10;
+            enemy.health = enemy.maxHealth;
+            enemy.attack = enemy.attack * 7 / 10;
+            horde.add(enemy);
         }
-        
-        // Scale enemy stats based on player level (percentage-based)
-        int scaledHP = (int)(template.maxHealth * (1 + player.getLevel() * 0.12));
-        int scaledAtk = template.getAttack() + player.getLevel();
-        int scaledDef = template.defense + (player.getLevel() / 2);
-        
-        return new Enemy(
-            template.getName(),
-            template.getLevel(),
-            scaledHP,
-            scaledAtk,
-            scaledDef,
-            template.getXpReward(),
-            SkillManager.getEnemySkillsFor(template.getName())
-        );
+        return horde;
     }
     
     private String getEventDescription(String eventName) {
@@ -240,31 +324,34 @@ public class RogueliteLoop {
     }
     
     private void presentPostBattleChoices() {
-        System.out.println("\n" + "=".repeat(50));
-        System.out.println("POST-BATTLE CHOICES");
-        System.out.println("=".repeat(50));
-        System.out.println("Current HP: " + player.health + "/" + player.maxHealth);
+        out.println("\n" + RULE);
+        out.println("POST-BATTLE CHOICES");
+        out.println(RULE);
+        out.println("Current HP: " + player.health + "/" + player.maxHealth);
         
-        // Generate 3 random choices from pool of 10
-        List<Integer> choicePool = new ArrayList<>();
-        for (int i = 0; i < 10; i++) {
-            choicePool.add(i);
+        // Generate 3 random choices from pool of 10 (partial Fisher-Yates on the run's stream)
+        int[] choicePool = new int[10];
+        for (int i = 0; i < choicePool.length; i++) {
+            choicePool[i] = i;
         }
-        Collections.shuffle(choicePool);
         
         int[] choices = new int[3];
         for (int i = 0; i < 3; i++) {
-            choices[i] = choicePool.get(i);
+            int j = i + random.nextInt(choicePool.length - i);
+            int swap = choicePool[i];
+            choicePool[i] = choicePool[j];
+            choicePool[j] = swap;
+            choices[i] = choicePool[i];
         }
         
         // Display choices
         for (int i = 0; i < 3; i++) {
-            System.out.println((i + 1) + ". " + getChoiceName(choices[i]));
-            System.out.println("   " + getChoiceDescription(choices[i]));
+            out.println((i + 1) + ". " + getChoiceName(choices[i]));
+            out.println("   " + getChoiceDescription(choices[i]));
         }
         
-        System.out.print("\nSelect your choice (1-3): ");
-        int selection = scanner.nextInt() - 1;
+        out.print("\nSelect your choice (1-3): ");
+        int selection = decisions.choose(DecisionSource.Choice.POST_BATTLE, 3) - 1;
         
         if (selection >= 0 && selection < 3) {
             applyChoice(choices[selection]);
@@ -304,14 +391,14 @@ public class RogueliteLoop {
     }
     
     private void applyChoice(int choice) {
-        System.out.println();
+        out.println();
         
         switch(choice) {
             case 0: // Emotional Discovery
                 if (emotionManager.hasLockedEmotions()) {
                     emotionManager.unlockNextEmotion();
                 } else {
-                    System.out.println("All emotions already unlocked! Restoring 30% HP instead.");
+                    out.println("All emotions already unlocked! Restoring 30% HP instead.");
                     player.heal(player.maxHealth * 30 / 100);
                 }
                 break;
@@ -323,17 +410,16 @@ public class RogueliteLoop {
                 
             case 2: // Emotional Release
                 emotionManager.resetAllCooldowns();
-                System.out.println("All emotion cooldowns have been reset!");
+                out.println("All emotion cooldowns have been reset!");
                 break;
                 
             case 3: // Skill Enhancement
-                List<Skills> skills = player.getSkills();
+                SkillBook skills = player.getSkills();
                 if (!skills.isEmpty()) {
-                    Skills skill = skills.get(random.nextInt(skills.size()));
-                    int oldPower = skill.getBasePower();
-                    int newPower = (int)(oldPower * 1.15);
-                    skill.setBasePower(newPower);
-                    System.out.println(skill.getName() + " upgraded from " + oldPower + " to " + newPower + " power!");
+                    int index = random.nextInt(skills.size());
+                    int oldPower = skills.power(index);
+                    int newPower = skills.upgrade(index);
+                    out.println(skills.get(index).getName() + " upgraded from " + oldPower + " to " + newPower + " power!");
                 }
                 break;
                 
@@ -341,39 +427,39 @@ public class RogueliteLoop {
                 List<EmotionCard> unlocked = emotionManager.getUnlockedEmotions();
                 if (!unlocked.isEmpty()) {
                     primedEmotion = unlocked.get(random.nextInt(unlocked.size()));
-                    System.out.println(primedEmotion.getName() + " will start pre-charged next battle!");
+                    out.println(primedEmotion.getName() + " will start pre-charged next battle!");
                 }
                 break;
                 
             case 5: // Battle Trance
                 battleTranceStacks = 2;
-                System.out.println("You enter a battle trance! +3 attack for 2 battles!");
+                out.println("You enter a battle trance! +3 attack for 2 battles!");
                 break;
                 
             case 6: // Risky Bargain
                 int damage = player.maxHealth * 15 / 100;
                 player.takeDamage(damage, null);
                 riskyBargainActive = true;
-                System.out.println("You'll start next battle with 2 emotions at 2/5 charge!");
+                out.println("You'll start next battle with 2 emotions at 2/5 charge!");
                 break;
                 
             case 7: // Fortify
                 player.applyBuff("defense", 2, 1);
-                System.out.println("You fortify your defenses! +2 defense for next battle!");
+                out.println("You fortify your defenses! +2 defense for next battle!");
                 break;
                 
             case 8: // Emotional Mastery
                 List<EmotionCard> unlockedEmotions = emotionManager.getUnlockedEmotions();
                 if (unlockedEmotions.isEmpty()) {
-                    System.out.println("No emotions unlocked yet!");
+                    out.println("No emotions unlocked yet!");
                     break;
                 }
-                System.out.println("Choose an emotion to master:");
+                out.println("Choose an emotion to master:");
                 for (int i = 0; i < unlockedEmotions.size(); i++) {
                     EmotionCard e = unlockedEmotions.get(i);
-                    System.out.println((i + 1) + ". " + e.getName() + " [" + e.getMaxChargeTicks() + " ticks]");
+                    out.println((i + 1) + ". " + e.getName() + " [" + e.getMaxChargeTicks() + " ticks]");
                 }
-                int emChoice = scanner.nextInt() - 1;
+                int emChoice = decisions.choose(DecisionSource.Choice.MASTERY, unlockedEmotions.size()) - 1;
                 if (emChoice >= 0 && emChoice < unlockedEmotions.size()) {
                     emotionManager.reduceChargeRequirement(unlockedEmotions.get(emChoice).getName());
                 }
@@ -381,22 +467,22 @@ public class RogueliteLoop {
                 
             case 9: // Fortune's Favor
                 int fortune = random.nextInt(5);
-                System.out.println("Fortune smiles upon you...");
+                out.println("Fortune smiles upon you...");
                 if (fortune == 0) {
                     player.heal(player.maxHealth / 2);
-                    System.out.println("Massive heal! +50% HP");
+                    out.println("Massive heal! +50% HP");
                 } else if (fortune == 1) {
                     player.attack += 3;
-                    System.out.println("Permanent +3 attack!");
+                    out.println("Permanent +3 attack!");
                 } else if (fortune == 2) {
                     player.defense += 2;
-                    System.out.println("Permanent +2 defense!");
+                    out.println("Permanent +2 defense!");
                 } else if (fortune == 3) {
-                    player.gainXP(100, scanner);
-                    System.out.println("Gained 100 XP!");
+                    player.gainXP(100, decisions);
+                    out.println("Gained 100 XP!");
                 } else {
                     player.heal(player.maxHealth / 4);
-                    System.out.println("Decent heal! +25% HP");
+                    out.println("Decent heal! +25% HP");
                 }
                 break;
         }
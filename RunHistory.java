@@ -0,0 +1,57 @@
+// The last few battles of a run, for the summary when it ends. Only a fixed
+// window is kept: older battles are overwritten, so an endless run holds the
+// same amount of history after fifty battles as after fifty thousand.
+public final class RunHistory {
+    public static final int DEFAULT_CAPACITY = 10;
+
+    private final int[] battle;
+    private final String[] biome;
+    private final String[] opponent;
+    private final int[] xp;
+    private final boolean[] won;
+    private final int capacity;
+    private long recorded = 0;
+
+    public RunHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        battle = new int[capacity];
+        biome = new String[capacity];
+        opponent = new String[capacity];
+        xp = new int[capacity];
+        won = new boolean[capacity];
+    }
+
+    // number is 1-based
+    public void record(int number, String biomeName, String opponentName, boolean victory, int xpGained) {
+        int at = (int) (recorded % capacity);
+        battle[at] = number;
+        biome[at] = biomeName;
+        opponent[at] = opponentName;
+        won[at] = victory;
+        xp[at] = xpGained;
+        recorded++;
+    }
+
+    // Battles still held
+    public int size() {
+        return (int) Math.min(recorded, capacity);
+    }
+
+    public long recorded() {
+        return recorded;
+    }
+
+    // Oldest first
+    public void print(OutputSink out) {
+        if (recorded == 0) return;
+        out.println("\nLast " + size() + " battles:");
+        for (long i = recorded - size(); i < recorded; i++) {
+            int at = (int) (i % capacity);
+            out.println("  #" + battle[at] + " " + (won[at] ? "won " : "lost") + "  " + opponent[at]
+                        + " in " + biome[at] + (won[at] ? " (+" + xp[at] + " XP)" : ""));
+        }
+    }
+}
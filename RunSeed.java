@@ -0,0 +1,51 @@
+import java.util.SplittableRandom;
+
+// A run's single seed. Every random decision draws from a stream derived from
+// it, so the same seed (and the same choices) replays a run exactly, and
+// parallel simulations each get independent streams without sharing a generator.
+//
+// Streams are derived by key rather than by draw order: child(3) is the same
+// whether it is asked for first or last.
+public final class RunSeed {
+    // Stream keys
+    public static final long LOOP = 1;
+    public static final long PLAYER = 2;
+    public static final long ENEMY = 3;
+    public static final long ENCOUNTER = 4;
+    public static final long EMOTIONS = 5;
+    public static final long DECISIONS = 6;
+    public static final long QTE = 7;
+    public static final long BATTLE = 8;
+    public static final long BIOME = 9;
+
+    private final long seed;
+
+    public RunSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public static RunSeed random() {
+        return new RunSeed(new SplittableRandom().nextLong());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // A sub-seed, e.g. child(BATTLE).child(3) for everything in the fourth battle
+    public RunSeed child(long key) {
+        return new RunSeed(mix(seed, key));
+    }
+
+    public SplittableRandom stream(long key) {
+        return new SplittableRandom(mix(seed, key));
+    }
+
+    // SplitMix64 finalizer over seed and key
+    private static long mix(long seed, long key) {
+        long z = seed + (key + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
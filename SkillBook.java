@@ -0,0 +1,193 @@
+import java.util.*;
+
+// The skills one combatant knows. Definitions are shared, immutable Skills;
+// what changes during a run (current cooldown, upgrades, effective power)
+// lives here in int arrays indexed like the definitions, so a combatant costs
+// a few ints per skill and the same definition can be known by any number of
+// them.
+//
+// The book persists for the whole run: levelling up only appends newly
+// unlocked skills and rescales. Effective power is always derived from the
+// base power, the book's level and the skill's upgrade count, so it does not
+// depend on the order things happened in.
+public final class SkillBook {
+    // Levels and upgrade counts covered by the precomputed tables; beyond them
+    // the factor is computed on demand
+    public static final int MAX_TABLE_LEVEL = 50;
+    public static final int MAX_TABLE_UPGRADES = 16;
+
+    // +10% per level above 1, for effects that scale and base power above 1
+    private static final double[] LEVEL_SCALE = new double[MAX_TABLE_LEVEL + 1];
+    // Skill Enhancement: +15% per upgrade, compounded
+    private static final double[] UPGRADE_SCALE = new double[MAX_TABLE_UPGRADES + 1];
+
+    static {
+        for (int level = 0; level <= MAX_TABLE_LEVEL; level++) {
+            LEVEL_SCALE[level] = levelScale(level);
+        }
+        for (int k = 0; k <= MAX_TABLE_UPGRADES; k++) {
+            UPGRADE_SCALE[k] = upgradeScale(k);
+        }
+    }
+
+    private Skills[] skills;
+    private int[] cooldown;
+    private int[] upgrades;
+    private int[] power;
+    private int size = 0;
+    private int level = 1;
+
+    public SkillBook() {
+        this(4);
+    }
+
+    public SkillBook(int capacity) {
+        skills = new Skills[capacity];
+        cooldown = new int[capacity];
+        upgrades = new int[capacity];
+        power = new int[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Skills get(int index) {
+        return skills[Objects.checkIndex(index, size)];
+    }
+
+    // Learns a skill at the book's level, ready to cast; returns its index
+    public int add(Skills skill) {
+        if (size == skills.length) {
+            int capacity = Math.max(4, size * 2);
+            skills = Arrays.copyOf(skills, capacity);
+            cooldown = Arrays.copyOf(cooldown, capacity);
+            upgrades = Arrays.copyOf(upgrades, capacity);
+            power = Arrays.copyOf(power, capacity);
+        }
+        skills[size] = skill;
+        cooldown[size] = 0;
+        upgrades[size] = 0;
+        power[size] = powerFor(size);
+        return size++;
+    }
+
+    // Forgets every skill and goes back to level 1
+    public void clear() {
+        Arrays.fill(skills, 0, size, null);
+        size = 0;
+        level = 1;
+    }
+
+    public void addAll(List<Skills> list) {
+        for (Skills s : list) add(s);
+    }
+
+    // -1 if not known; definitions are interned, so this compares identity
+    public int indexOf(Skills skill) {
+        for (int i = 0; i < size; i++) {
+            if (skills[i] == skill) return i;
+        }
+        return -1;
+    }
+
+    // ====== Cooldowns ======
+    public int cooldown(int index) {
+        return cooldown[index];
+    }
+
+    public boolean isReady(int index) {
+        return cooldown[index] == 0;
+    }
+
+    public int readyCount() {
+        int ready = 0;
+        for (int i = 0; i < size; i++) {
+            if (cooldown[i] == 0) ready++;
+        }
+        return ready;
+    }
+
+    public void setCooldown(int index, int turns) {
+        cooldown[index] = turns;
+    }
+
+    // After a cast
+    public void startCooldown(int index) {
+        cooldown[index] = skills[index].getCooldown();
+    }
+
+    // One turn passes
+    public void tick() {
+        for (int i = 0; i < size; i++) {
+            if (cooldown[i] > 0) cooldown[i]--;
+        }
+    }
+
+    public void reduceAll(int amount) {
+        for (int i = 0; i < size; i++) {
+            cooldown[i] = Math.max(0, cooldown[i] - amount);
+        }
+    }
+
+    public void increaseAll(int amount) {
+        for (int i = 0; i < size; i++) {
+            cooldown[i] += amount;
+        }
+    }
+
+    public void resetCooldowns() {
+        Arrays.fill(cooldown, 0, size, 0);
+    }
+
+    // ====== Power ======
+    public int power(int index) {
+        return power[index];
+    }
+
+    public int level() {
+        return level;
+    }
+
+    // Rescales every skill; cooldowns and upgrades are kept
+    public void setLevel(int level) {
+        this.level = level;
+        for (int i = 0; i < size; i++) {
+            power[i] = powerFor(i);
+        }
+    }
+
+    public int upgrades(int index) {
+        return upgrades[index];
+    }
+
+    // One Skill Enhancement; returns the new power
+    public int upgrade(int index) {
+        upgrades[index]++;
+        power[index] = powerFor(index);
+        return power[index];
+    }
+
+    private int powerFor(int index) {
+        Skills skill = skills[index];
+        double scale = 1.0;
+        if (skill.getEffect().scalesWithLevel() && skill.getBasePower() > 1) {
+            scale = level >= 0 && level <= MAX_TABLE_LEVEL ? LEVEL_SCALE[level] : levelScale(level);
+        }
+        int k = upgrades[index];
+        scale *= k <= MAX_TABLE_UPGRADES ? UPGRADE_SCALE[k] : upgradeScale(k);
+        return (int) (skill.getBasePower() * scale);
+    }
+
+    private static double levelScale(int level) {
+        return 1.0 + 0.1 * (level - 1);
+    }
+
+    private static double upgradeScale(int upgrades) {
+        return Math.pow(1.15, upgrades);
+    }
+}
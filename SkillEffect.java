@@ -0,0 +1,246 @@
+import java.util.*;
+
+// What a skill does, resolved once from its type string when the Skills
+// definition is built. Player and Enemy both cast through here, so a cast is
+// one virtual call instead of a walk down a chain of string comparisons.
+// power is the caster's current power for the skill, from its SkillBook.
+//
+// The few places where players and enemies differ (bonus damage, the random
+// effects, class-specific skills) are hooks on Character.
+public enum SkillEffect {
+	ATTACK("attack", true, true, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			target.takeDamage(user.getRanDmg(power, user), user);
+		}
+	},
+	HEAL("heal", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.heal(power);
+		}
+	},
+	CHARGED("Charged", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			if (user.chargeTurn == 0) {
+				user.chargeTurn = 1;
+				user.out.detail("{} is charging a powerful attack!", user.name);
+			} else {
+				target.takeDamage(user.getRanDmg(power, user), user);
+				user.out.detail("{} unleashes the charged strike!", user.name);
+				user.chargeTurn = 0;
+			}
+		}
+	},
+	DEF_BUFF("DefBuff", false, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.applyBuff("defense", power, skill.getDuration());
+		}
+	},
+	ATT_BUFF("attBuff", false, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.applyBuff("attack", power, skill.getDuration());
+		}
+	},
+	DE_DEF_BUFF("DeDefBuff", false, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			target.applyDeBuff("defense", power, skill.getDuration());
+		}
+	},
+	DE_ATT_BUFF("DeAttBuff", false, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			target.applyDeBuff("attack", power, skill.getDuration());
+		}
+	},
+	BUFFS("Buffs", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.applyBuff("both", power, skill.getDuration());
+		}
+	},
+	DMG_ATT_BUFF("DmgAttBuff", false, true, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			target.takeDamage(user.getRanDmg(power, user) + user.skillDamageBonus(), user);
+			user.applyBuff("attack", power, skill.getDuration());
+		}
+	},
+	DMG_DEF_BUFF("DmgDefBuff", false, true, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			target.takeDamage(user.getRanDmg(power, user) + user.skillDamageBonus(), user);
+			user.applyBuff("defense", power, skill.getDuration());
+		}
+	},
+	SCRAMBLE("Scramble", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.out.detail("{} scrambles {}'s cooldowns!", user.name, target.name);
+			SkillBook skills = target.getSkills();
+			for (int i = 0; i < skills.size(); i++) {
+				skills.setCooldown(i, user.ran.nextInt(skills.get(i).getCooldown() + 1) + 1);
+			}
+		}
+	},
+	MARK("Mark", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.out.detail("{} is marked, {}'s crit chance increased!", target.name, user.name);
+			user.setCritChance(0.9, skill.getDuration());
+		}
+	},
+	MULTI_HIT("MultiHit", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			for (int i = 0; i < skill.getDuration(); i++) {
+				target.takeDamage(user.getRanDmg(power, user), user);
+			}
+		}
+	},
+	INVIS("invis", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.setStatus(Status.INVISIBLE, skill.getDuration());
+			user.out.detail("{} has vanished!", user.name);
+		}
+	},
+	HEALTH_STEAL("Health Steal", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			int damage = user.getRanDmg(power, user);
+			target.takeDamage(damage, user);
+			user.heal((int)(damage * 0.75));
+			user.out.detail("{} drains life like a vampire!", user.name);
+		}
+	},
+	STATUS("Status", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			if (user.canPoison()) {
+				target.setStatus(Status.POISONED, skill.getDuration());
+			}
+		}
+	},
+	BOTH("Both", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.out.detail("Both sides take damage!");
+			target.takeDamage(user.getRanDmg(power, user) + 15, user);
+			user.takeDamage(power, user);
+		}
+	},
+	HIT_STUN("hitStun", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			target.setStatus(Status.STUNNED, skill.getDuration());
+			target.takeDamage(user.getRanDmg(power, user), user);
+		}
+	},
+	STUN("Stun", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			target.setStatus(Status.STUNNED, skill.getDuration());
+		}
+	},
+	FREEZE("Freeze", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			target.setStatus(Status.FROZEN, skill.getDuration());
+		}
+	},
+	HEAL_BUFF("healBuff", false, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.heal(power + user.skillHealBonus());
+			user.applyBuff("attack", power, skill.getDuration() + 1);
+			user.applyBuff("defense", power, skill.getDuration());
+		}
+	},
+	REFLECT("reflect", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.setStatus(Status.REFLECT, skill.getDuration());
+		}
+	},
+	REDUCE_CD("ReduceCD", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.out.detail("{} manipulates time to refresh their skills!", user.name);
+			user.reduceAllSkillCooldowns(power);
+		}
+	},
+	INCREASE_CD("IncreaseCD", false, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.out.detail("{} manipulates time to delay enemy abilities!", user.name);
+			target.increaseAllSkillCooldowns(power);
+		}
+	},
+	REGEN("regen", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.setRegen(power, skill.getDuration());
+			user.out.detail("{} regenerates for {} turns!", user.name, skill.getDuration());
+		}
+	},
+	HEAL_REGEN("healRegen", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.heal(power + 5);
+			user.setRegen(power, skill.getDuration());
+			user.out.detail("{} heals and regenerates!", user.name);
+		}
+	},
+	RANDOM_DEBUFF("Random Debuff", true, false, true) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.randomDebuff(target, skill.getDuration());
+		}
+	},
+	RANDOM_BUFF("Random Buff", false, false, true) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.randomBuff();
+		}
+	},
+	TRADE_OFF("Trade off", true, false, false) {
+		void apply(Character user, Character target, Skills skill, int power) {
+			user.tradeOff(target);
+		}
+	};
+
+	private static final Map<String, SkillEffect> BY_TYPE = new HashMap<>();
+
+	// Effects that only touch their target, so an AoE cast is just one apply per target
+	private static final Set<SkillEffect> TARGET_ONLY = EnumSet.of(
+		ATTACK, DE_DEF_BUFF, DE_ATT_BUFF, SCRAMBLE, MULTI_HIT, STATUS, HIT_STUN, STUN, FREEZE, INCREASE_CD);
+
+	static {
+		for (SkillEffect e : values()) {
+			BY_TYPE.put(e.type, e);
+		}
+	}
+
+	private final String type;
+	private final boolean scalesWithLevel;
+	private final boolean directAttack;
+	private final boolean random;
+
+	SkillEffect(String type, boolean scalesWithLevel, boolean directAttack, boolean random) {
+		this.type = type;
+		this.scalesWithLevel = scalesWithLevel;
+		this.directAttack = directAttack;
+		this.random = random;
+	}
+
+	abstract void apply(Character user, Character target, Skills skill, int power);
+
+	public String getType() {
+		return type;
+	}
+
+	// Buffs and cooldown manipulation keep their power when the player levels up
+	public boolean scalesWithLevel() {
+		return scalesWithLevel;
+	}
+
+	// Attacks that trigger "Lava Pools" damage on the caster
+	public boolean isDirectAttack() {
+		return directAttack;
+	}
+
+	// RNG-driven skills charge the Goofy emotion
+	public boolean isRandom() {
+		return random;
+	}
+
+	// Whether a skill with this effect may use Targeting.ALL
+	public boolean canHitAll() {
+		return TARGET_ONLY.contains(this);
+	}
+
+	public static SkillEffect forType(String type) {
+		SkillEffect effect = BY_TYPE.get(type);
+		if (effect == null) {
+			throw new IllegalArgumentException("Unknown skill type: \"" + type + "\"");
+		}
+		return effect;
+	}
+}
@@ -1,20 +1,44 @@
-public class Skills
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// An immutable skill definition. Definitions are interned: Skills.of returns
+// the same object for the same fields, so every combatant that knows a skill
+// shares it and definitions compare by identity. Cooldowns and upgraded power
+// are per combatant, in its SkillBook.
+public final class Skills
 {
-	private String name;
-	private int basePower;
-	private String type;
-	private int cooldown;
-	private int currentCooldown;
-	private int duration;
+	private static final Map<Skills, Skills> INTERNED = new ConcurrentHashMap<>();
+
+	private final String name;
+	private final int basePower;
+	private final String type;
+	private final SkillEffect effect;
+	private final int cooldown;
+	private final int duration;
+	private final Targeting targeting;
 
-	public Skills(String name, int basePower, String type, int cooldown, int duration)
+	private Skills(String name, int basePower, String type, int cooldown, int duration, Targeting targeting)
 	{
 		this.name = name;
 		this.basePower = basePower;
 		this.type = type;
+		this.effect = SkillEffect.forType(type);
 		this.cooldown = cooldown;
-		this.currentCooldown = 0;
 		this.duration = duration;
+		this.targeting = targeting;
+		if (targeting == Targeting.ALL && !effect.canHitAll()) {
+			throw new IllegalArgumentException("Skill type \"" + type + "\" cannot target all opponents");
+		}
+	}
+
+	public static Skills of(String name, int basePower, String type, int cooldown, int duration) {
+		return of(name, basePower, type, cooldown, duration, Targeting.SINGLE);
+	}
+
+	public static Skills of(String name, int basePower, String type, int cooldown, int duration, Targeting targeting) {
+		Skills skill = new Skills(name, basePower, type, cooldown, duration, targeting);
+		Skills existing = INTERNED.putIfAbsent(skill, skill);
+		return existing != null ? existing : skill;
 	}
 
 	public String getName() {
@@ -25,46 +49,37 @@ public class Skills
 		return basePower;
 	}
 
-	public void setBasePower(int newPower) {
-		basePower = newPower;
-	}
-
 	public String getType() {
 		return type;
 	}
 
+	public SkillEffect getEffect() {
+		return effect;
+	}
+
 	public int getCooldown() {
 		return cooldown;
 	}
 
-	public int currentCooldown() {
-		return currentCooldown;
-	}
 	public int getDuration() {
 		return duration;
 	}
 
-	public void reduceCooldown()
-	{
-		if(currentCooldown > 0)
-		{
-			currentCooldown--;
-		}
-	}
-
-	public boolean isReady()
-	{
-		return currentCooldown == 0;
+	public Targeting getTargeting() {
+		return targeting;
 	}
 
-	public void resetCooldown()
-	{
-		currentCooldown = cooldown;
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof Skills)) return false;
+		Skills s = (Skills) o;
+		return basePower == s.basePower && cooldown == s.cooldown && duration == s.duration
+		       && name.equals(s.name) && type.equals(s.type) && targeting == s.targeting;
 	}
 
-	public void setCurrentCooldown(int m)
-	{
-		currentCooldown = m;
+	@Override
+	public int hashCode() {
+		return Objects.hash(name, basePower, type, cooldown, duration, targeting);
 	}
-
 }
@@ -0,0 +1,22 @@
+// Temporary changes to attack and defense, kept apart from the base stats.
+// Ordinals index the modifier array in Character; the signs say which
+// effective stat a kind adds to or takes from.
+public enum StatModifier {
+	ATTACK_BUFF(1, 0),
+	ATTACK_DEBUFF(-1, 0),
+	DEFENSE_BUFF(0, 1),
+	DEFENSE_DEBUFF(0, -1),
+	// Attack lost while burning, 2 more per burning turn
+	BURN(-1, 0);
+
+	static final StatModifier[] VALUES = values();
+	public static final int COUNT = VALUES.length;
+
+	final int attackSign;
+	final int defenseSign;
+
+	StatModifier(int attackSign, int defenseSign) {
+		this.attackSign = attackSign;
+		this.defenseSign = defenseSign;
+	}
+}
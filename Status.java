@@ -0,0 +1,37 @@
+// The fixed set of status effects a Character can carry. Ordinals index the
+// bitmask and duration array in Character.
+public enum Status {
+	FROZEN("frozen"),
+	STUNNED("stunned"),
+	BURNED("burned"),
+	POISONED("poisoned"),
+	INVISIBLE("invisible"),
+	REFLECT("reflect"),
+	CURSED("cursed");
+
+	static final Status[] VALUES = values();
+	public static final int COUNT = VALUES.length;
+
+	private final String name;
+	private final int bit;
+
+	Status(String name) {
+		this.name = name;
+		this.bit = 1 << ordinal();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	int bit() {
+		return bit;
+	}
+
+	public static Status fromName(String name) {
+		for (Status s : VALUES) {
+			if (s.name.equalsIgnoreCase(name)) return s;
+		}
+		throw new IllegalArgumentException("Unknown status: \"" + name + "\"");
+	}
+}
@@ -0,0 +1,7 @@
+// Who a skill lands on when there is more than one opponent. ALL only applies
+// to effects that touch nothing but their target (see SkillEffect.canHitAll),
+// so hitting every opponent is the same effect applied once per target.
+public enum Targeting {
+	SINGLE,
+	ALL
+}
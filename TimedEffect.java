@@ -0,0 +1,24 @@
+// Effects a Character keeps on its EffectWheel. Buffs and debuffs stack: each
+// application is its own entry adding to a StatModifier until it expires. The
+// others hold one value at a time, and applying them again replaces it.
+public enum TimedEffect {
+	ATTACK_BUFF(StatModifier.ATTACK_BUFF, "{}'s attack buff wore off!"),
+	DEFENSE_BUFF(StatModifier.DEFENSE_BUFF, "{}'s defense buff wore off!"),
+	ATTACK_DEBUFF(StatModifier.ATTACK_DEBUFF, "{}'s attack debuff wore off!"),
+	DEFENSE_DEBUFF(StatModifier.DEFENSE_DEBUFF, "{}'s defense debuff wore off!"),
+	CRIT_BOOST(null, "{}'s critical buff has worn off"),
+	NEVER_MISS(null, "{} can miss again"),
+	HOPE_MODE(null, "{}'s Hope Mode has ended!"),
+	REGEN(null, null);
+
+	static final TimedEffect[] VALUES = values();
+
+	// The modifier a stacking effect adds to; null for the others
+	final StatModifier modifier;
+	final String expiredMessage;
+
+	TimedEffect(StatModifier modifier, String expiredMessage) {
+		this.modifier = modifier;
+		this.expiredMessage = expiredMessage;
+	}
+}